@@ -31,6 +31,8 @@ public class ConfigImplGenerator {
     private final AccessorGenerator accessorGenerator;
     private final DeserializationCodeGenerator deserializationCodeGenerator;
     private final SerializationCodeGenerator serializationCodeGenerator;
+    private final StreamingDeserializationCodeGenerator streamingDeserializationCodeGenerator;
+    private final StreamingSerializationCodeGenerator streamingSerializationCodeGenerator;
     private final ToStringGenerator toStringGenerator;
     private final EqualsHashCodeGenerator equalsHashCodeGenerator;
     private final ConfigurationClassNameGenerator configurationClassNameGenerator;
@@ -39,10 +41,12 @@ public class ConfigImplGenerator {
     private final TypesUtil typesUtil;
 
     @Inject
-    public ConfigImplGenerator(AccessorGenerator accessorGenerator, DeserializationCodeGenerator deserializationCodeGenerator, SerializationCodeGenerator serializationCodeGenerator, ToStringGenerator toStringGenerator, EqualsHashCodeGenerator equalsHashCodeGenerator, ConfigurationClassNameGenerator configurationClassNameGenerator, ConfigNameCache configNameCache, MethodNames methodNames, TypesUtil typesUtil) {
+    public ConfigImplGenerator(AccessorGenerator accessorGenerator, DeserializationCodeGenerator deserializationCodeGenerator, SerializationCodeGenerator serializationCodeGenerator, StreamingDeserializationCodeGenerator streamingDeserializationCodeGenerator, StreamingSerializationCodeGenerator streamingSerializationCodeGenerator, ToStringGenerator toStringGenerator, EqualsHashCodeGenerator equalsHashCodeGenerator, ConfigurationClassNameGenerator configurationClassNameGenerator, ConfigNameCache configNameCache, MethodNames methodNames, TypesUtil typesUtil) {
         this.accessorGenerator = accessorGenerator;
         this.deserializationCodeGenerator = deserializationCodeGenerator;
         this.serializationCodeGenerator = serializationCodeGenerator;
+        this.streamingDeserializationCodeGenerator = streamingDeserializationCodeGenerator;
+        this.streamingSerializationCodeGenerator = streamingSerializationCodeGenerator;
         this.toStringGenerator = toStringGenerator;
         this.equalsHashCodeGenerator = equalsHashCodeGenerator;
         this.configurationClassNameGenerator = configurationClassNameGenerator;
@@ -120,7 +124,35 @@ public class ConfigImplGenerator {
                     )
                     .addModifiers(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL);
             
-            if (serializationSupported) {
+            boolean streamingSupported = streamingDeserializationCodeGenerator.isStreamingSupported(ast);
+
+            if (streamingSupported && streamingSerializationCodeGenerator.isStreamingSupported(ast)) {
+                // Include the streaming JSON functions in both directions
+                configFieldBuilder.initializer(
+                        "new $T<>($S, $T.class, $T::$L, $T::$L, $T::$L, $T::$L)", Configuration.class,
+                        ast.settings().source().value(),
+                        publicClassName,
+                        implClassName,
+                        methodNames.getDeserializeMethodName(ast),
+                        implClassName,
+                        methodNames.getSerializeMethodName(ast),
+                        implClassName,
+                        methodNames.getStreamingDeserializeMethodName(ast),
+                        implClassName,
+                        methodNames.getStreamingSerializeMethodName(ast)
+                );
+            } else if (streamingSupported) {
+                // Serialization isn't supported, so only include the streaming JSON deserialize function
+                configFieldBuilder.initializer(
+                        "new $T<>($S, $T.class, $T::$L, null, $T::$L)", Configuration.class,
+                        ast.settings().source().value(),
+                        publicClassName,
+                        implClassName,
+                        methodNames.getDeserializeMethodName(ast),
+                        implClassName,
+                        methodNames.getStreamingDeserializeMethodName(ast)
+                );
+            } else if (serializationSupported) {
                 // Include both deserialize and serialize functions
                 configFieldBuilder.initializer(
                         "new $T<>($S, $T.class, $T::$L, $T::$L)", Configuration.class,
@@ -190,6 +222,9 @@ public class ConfigImplGenerator {
                                            @Nullable ClassName daoName
     ) {
         deserializationCodeGenerator.createDeserializeMethods(source, ast, daoName);
+        if (streamingDeserializationCodeGenerator.isStreamingSupported(ast)) {
+            streamingDeserializationCodeGenerator.createStreamingDeserializeMethod(source, ast, daoName);
+        }
     }
 
     private void addSerializationMethods(AbstractConfigStructure ast, TypeSpec.Builder source) {
@@ -197,6 +232,9 @@ public class ConfigImplGenerator {
         
         if (serializationSupported) {
             serializationCodeGenerator.createSerializeMethods(source, ast);
+            if (streamingSerializationCodeGenerator.isStreamingSupported(ast)) {
+                streamingSerializationCodeGenerator.createStreamingSerializeMethod(source, ast);
+            }
         } else {
             List<String> unsupportedProperties = serializationCodeGenerator.getUnsupportedSerializationProperties(ast);
             
@@ -77,31 +77,39 @@ public class DeserializationCodeGenerator {
     }
 
 
-    public CodeBlock dataTreeConvert(TypeName type, TypeName dataTreeType, CodeBlock value) {
+    /**
+     * Converts a {@link DataTree} literal into the given property type.
+     * Numeric and boolean literals are read through the primitive accessors
+     * ({@link DataTree#asLong()}, {@link DataTree#asDouble()}, {@link DataTree#asBoolean()}),
+     * so no intermediate boxed value is created.
+     *
+     * @param type         The type of the property
+     * @param dataTreeType The DataTree type that {@code tree} is known to be
+     * @param tree         An expression of type {@code dataTreeType}
+     * @return An expression converting {@code tree} into {@code type}
+     */
+    public CodeBlock dataTreeConvert(TypeName type, TypeName dataTreeType, CodeBlock tree) {
         type = type.isBoxedPrimitive() ? type.unbox() : type;
         if (dataTreeType.equals(ClassName.get(DataTree.DataTreeLiteral.DataTreeLiteralInt.class))) {
-            if (type.equals(TypeName.INT)) {
-                return CodeBlock.of("($L).intValue()", value);
-            }
-            if (type.equals(TypeName.SHORT)) {
-                return CodeBlock.of("($L).shortValue()", value);
-            }
-            if (type.equals(TypeName.BYTE)) {
-                return CodeBlock.of("($L).byteValue()", value);
+            if (type.equals(TypeName.INT) || type.equals(TypeName.SHORT) || type.equals(TypeName.BYTE)) {
+                return CodeBlock.of("($T) ($L).asLong()", type, tree);
             }
             if (type.equals(TypeName.LONG)) {
-                return CodeBlock.of("($L).longValue()", value);
+                return CodeBlock.of("($L).asLong()", tree);
             }
         }
         if (dataTreeType.equals(ClassName.get(DataTree.DataTreeLiteral.DataTreeLiteralFloat.class))) {
             if (type.equals(TypeName.FLOAT)) {
-                return CodeBlock.of("($L).floatValue()", value);
+                return CodeBlock.of("(float) ($L).asDouble()", tree);
             }
             if (type.equals(TypeName.DOUBLE)) {
-                return CodeBlock.of("($L).doubleValue()", value);
+                return CodeBlock.of("($L).asDouble()", tree);
             }
         }
-        return value;
+        if (dataTreeType.equals(ClassName.get(DataTree.DataTreeLiteral.DataTreeLiteralBoolean.class))) {
+            return CodeBlock.of("($L).asBoolean()", tree);
+        }
+        return CodeBlock.of("($L).value()", tree);
     }
 
     /**
@@ -171,7 +179,7 @@ public class DeserializationCodeGenerator {
                                         AbstractConfigStructure propertyAST,
                                         Property property) {
         builder.addStatement("$T $$data = context.getData()", DataTree.class);
-        final String key = fieldNameGenerator.getConfigFieldName(property);
+        final String key = fieldNameGenerator.getKeyFieldName(propertyAST, property);
         final String fromMapName = property.name() + "FromMap";
         if (property.settings().hasDefaultValue()) {
 
@@ -180,9 +188,19 @@ public class DeserializationCodeGenerator {
                 case ConfigTypeSource.ClassConfigTypeSource ignored -> CodeBlock.of("dao.$L", property.name());
             };
 
-            builder.addStatement("Object $L = $$data.getOrDefault($S, $L)", fromMapName, key, defaultString);
+            builder.addStatement("Object $L = $$data.getOrDefault($N, $L)", fromMapName, key, defaultString);
         } else {
-            builder.addStatement("$T $L = $$data.get($S)", DataTree.class, fromMapName, key);
+            builder.addStatement("$T $L = $$data.get($N)", DataTree.class, fromMapName, key);
+        }
+    }
+
+    private void createKeyFields(TypeSpec.Builder typeSpecBuilder, AbstractConfigStructure ast) {
+        for (Property property : ast.properties()) {
+            typeSpecBuilder.addField(FieldSpec.builder(DataTree.DataTreeLiteral.DataTreeLiteralString.class,
+                            fieldNameGenerator.getKeyFieldName(ast, property),
+                            Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                    .initializer("$T.key($S)", DataTree.class, fieldNameGenerator.getConfigFieldName(property))
+                    .build());
         }
     }
 
@@ -285,8 +303,8 @@ public class DeserializationCodeGenerator {
             CustomDeserializerInfo info = optional.get();
             // TODO fallback
             CodeBlock deserializationFunction = getDeserializationFunctionReference(info);
-            builder.addStatement("return $T.deserializeMap($L, context, $L)",
-                    CollectionsUtils.class, fromMapName, deserializationFunction);
+            builder.addStatement("return $T.deserializeMap($T.class, $L, context, $L)",
+                    CollectionsUtils.class, typesUtil.getSafeType(keyType), fromMapName, deserializationFunction);
             return Optional.of(builder.build());
         }
 
@@ -360,7 +378,7 @@ public class DeserializationCodeGenerator {
         if (treeType.isPresent()) {
             builder.beginControlFlow("if ($L instanceof $T)", fromMapName, treeType.get());
             var convert = dataTreeConvert(safeType, treeType.get(), CodeBlock
-                    .of("(($T) $L).value()", treeType.get(), fromMapName));
+                    .of("($T) $L", treeType.get(), fromMapName));
 
             builder.addStatement("return $T.ok($L)", Result.class, convert);
             builder.endControlFlow();
@@ -517,6 +535,8 @@ public class DeserializationCodeGenerator {
             builder.addStatement("$1T dao = new $1T()", daoName);
         }
 
+        createKeyFields(typeSpecBuilder, ast);
+
         final List<MethodSpec> deserializeMethods = ast.properties().stream()
                 .map(variableElement -> createDeserializeMethodFor(dtoType, ast, variableElement, daoName))
                 .toList();
@@ -1,13 +1,17 @@
 package me.bristermitten.mittenlib.annotations.compile;
 
+import me.bristermitten.mittenlib.annotations.ast.AbstractConfigStructure;
 import me.bristermitten.mittenlib.annotations.ast.Property;
 import me.bristermitten.mittenlib.config.DeserializationContext;
 import me.bristermitten.mittenlib.config.names.ConfigName;
 import me.bristermitten.mittenlib.config.names.NamingPattern;
 import me.bristermitten.mittenlib.config.names.NamingPatternTransformer;
+import me.bristermitten.mittenlib.config.tree.DataTree;
 import org.jspecify.annotations.Nullable;
 
 import javax.inject.Inject;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * Responsible for generating serial keys based on DTO fields
@@ -33,6 +37,39 @@ public class FieldNameGenerator {
         return getConfigFieldName(configName, namingPattern, fieldName);
     }
 
+    /**
+     * Gets the name of the constant holding the pre-built {@link DataTree} key for a property.
+     * Looking up with these rather than a {@link String} avoids allocating a new key for every lookup.
+     * The name is guaranteed not to clash with any of the config's properties, or with the key constant of any
+     * other property. Names are assigned in property order, so the same property always gets the same name.
+     *
+     * @param ast      The config structure the property belongs to
+     * @param property The property
+     * @return The name of the key constant
+     */
+    public String getKeyFieldName(AbstractConfigStructure ast, Property property) {
+        var taken = new HashSet<String>();
+        for (Property other : ast.properties()) {
+            taken.add(other.name());
+        }
+        for (Property other : ast.properties()) {
+            var name = uniqueKeyFieldName(other, taken);
+            if (other.name().equals(property.name())) {
+                return name;
+            }
+            taken.add(name);
+        }
+        return uniqueKeyFieldName(property, taken);
+    }
+
+    private static String uniqueKeyFieldName(Property property, Set<String> taken) {
+        var name = new StringBuilder("KEY_").append(property.name());
+        while (taken.contains(name.toString())) {
+            name.append('_');
+        }
+        return name.toString();
+    }
+
     /**
      * Helper method to get the config field name based on annotations and field name.
      *
@@ -110,6 +110,27 @@ public class MethodNames {
         return getDeserializeMethodName(configurationClassNameGenerator.translateConfigClassName(ast));
     }
 
+    /**
+     * Gets the name of the streaming JSON deserialization method for a type.
+     * This should only be used when the type is known to be a configuration implementation class.
+     *
+     * @param name The type name
+     * @return The streaming deserialization method name
+     */
+    public String getStreamingDeserializeMethodName(TypeName name) {
+        return getDeserializeMethodName(name) + "FromJson";
+    }
+
+    /**
+     * Gets the name of the streaming JSON deserialization method for a configuration structure.
+     *
+     * @param ast The abstract configuration structure
+     * @return The streaming deserialization method name for the structure
+     */
+    public String getStreamingDeserializeMethodName(AbstractConfigStructure ast) {
+        return getStreamingDeserializeMethodName(configurationClassNameGenerator.translateConfigClassName(ast));
+    }
+
     /**
      * Gets the name of the serialization method for a type.
      * This should only be used when the type is known to be a configuration implementation class.
@@ -134,4 +155,25 @@ public class MethodNames {
     public String getSerializeMethodName(AbstractConfigStructure ast) {
         return getSerializeMethodName(configurationClassNameGenerator.translateConfigClassName(ast));
     }
+
+    /**
+     * Gets the name of the streaming JSON serialization method for a type.
+     * This should only be used when the type is known to be a configuration implementation class.
+     *
+     * @param name The type name
+     * @return The streaming serialization method name
+     */
+    public String getStreamingSerializeMethodName(TypeName name) {
+        return getSerializeMethodName(name) + "ToJson";
+    }
+
+    /**
+     * Gets the name of the streaming JSON serialization method for a configuration structure.
+     *
+     * @param ast The abstract configuration structure
+     * @return The streaming serialization method name for the structure
+     */
+    public String getStreamingSerializeMethodName(AbstractConfigStructure ast) {
+        return getStreamingSerializeMethodName(configurationClassNameGenerator.translateConfigClassName(ast));
+    }
 }
@@ -348,25 +348,32 @@ public class SerializationCodeGenerator {
 
         // Serialize each property
         for (Property property : ast.properties()) {
-            String key = fieldNameGenerator.getConfigFieldName(property);
+            String keyField = fieldNameGenerator.getKeyFieldName(ast, property);
             String serializeMethodName = SERIALIZE_METHOD_PREFIX + Strings.capitalize(property.name());
 
-            // Get the property value based on source type
-            CodeBlock propertyAccess = switch (ast.source()) {
-                case ConfigTypeSource.InterfaceConfigTypeSource ignored -> CodeBlock.of("config.$L()", property.name());
-                case ConfigTypeSource.ClassConfigTypeSource ignored ->
-                        CodeBlock.of("config.$L()", methodNames.safeMethodName(property));
-            };
-
-            builder.addStatement("map.put($T.string($S), $L($L, mapper))",
-                    DataTree.class,
-                    key,
+            builder.addStatement("map.put($N, $L($L, mapper))",
+                    keyField,
                     serializeMethodName,
-                    propertyAccess);
+                    propertyAccess(ast, property));
         }
 
         builder.addStatement("return $T.map(map)", DataTree.class);
 
         return builder.build();
     }
+
+    /**
+     * Creates the code to read a property's value from a parameter named {@code config}.
+     *
+     * @param ast      The configuration structure
+     * @param property The property to read
+     * @return The property access expression
+     */
+    CodeBlock propertyAccess(AbstractConfigStructure ast, Property property) {
+        return switch (ast.source()) {
+            case ConfigTypeSource.InterfaceConfigTypeSource ignored -> CodeBlock.of("config.$L()", property.name());
+            case ConfigTypeSource.ClassConfigTypeSource ignored ->
+                    CodeBlock.of("config.$L()", methodNames.safeMethodName(property));
+        };
+    }
 }
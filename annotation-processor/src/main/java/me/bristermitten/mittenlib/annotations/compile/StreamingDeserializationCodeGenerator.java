@@ -0,0 +1,235 @@
+package me.bristermitten.mittenlib.annotations.compile;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.squareup.javapoet.*;
+import io.toolisticon.aptk.tools.TypeMirrorWrapper;
+import me.bristermitten.mittenlib.annotations.ast.AbstractConfigStructure;
+import me.bristermitten.mittenlib.annotations.ast.ConfigTypeSource;
+import me.bristermitten.mittenlib.annotations.ast.Property;
+import me.bristermitten.mittenlib.annotations.parser.CustomDeserializers;
+import me.bristermitten.mittenlib.annotations.util.TypesUtil;
+import me.bristermitten.mittenlib.config.DeserializationContext;
+import me.bristermitten.mittenlib.config.DeserializationErrorMode;
+import me.bristermitten.mittenlib.config.reader.ObjectMapper;
+import me.bristermitten.mittenlib.config.tree.DataTree;
+import me.bristermitten.mittenlib.config.tree.DataTreeTypeAdapter;
+import me.bristermitten.mittenlib.util.Result;
+import me.bristermitten.mittenlib.util.Strings;
+import org.jspecify.annotations.Nullable;
+
+import javax.inject.Inject;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.type.TypeMirror;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Generates methods that deserialize configuration classes directly from a {@link JsonReader}.
+ * <p>
+ * Properties that map straight onto a JSON literal (primitives and strings), and nested configs that
+ * also support streaming, are read directly from the stream.
+ * Anything else is read into a small {@link DataTree} holding only the remaining keys, and handed to the
+ * regular per-property deserialization methods generated by {@link DeserializationCodeGenerator}.
+ * This means that defaults, nullability and error handling behave exactly as they do for the tree-based path.
+ */
+public class StreamingDeserializationCodeGenerator {
+    private final TypesUtil typesUtil;
+    private final FieldNameGenerator fieldNameGenerator;
+    private final ConfigurationClassNameGenerator configurationClassNameGenerator;
+    private final DeserializationCodeGenerator deserializationCodeGenerator;
+    private final MethodNames methodNames;
+    private final CustomDeserializers customDeserializers;
+    private final ConfigNameCache configNameCache;
+
+    @Inject
+    public StreamingDeserializationCodeGenerator(TypesUtil typesUtil,
+                                                 FieldNameGenerator fieldNameGenerator,
+                                                 ConfigurationClassNameGenerator configurationClassNameGenerator,
+                                                 DeserializationCodeGenerator deserializationCodeGenerator,
+                                                 MethodNames methodNames,
+                                                 CustomDeserializers customDeserializers,
+                                                 ConfigNameCache configNameCache) {
+        this.typesUtil = typesUtil;
+        this.fieldNameGenerator = fieldNameGenerator;
+        this.configurationClassNameGenerator = configurationClassNameGenerator;
+        this.deserializationCodeGenerator = deserializationCodeGenerator;
+        this.methodNames = methodNames;
+        this.customDeserializers = customDeserializers;
+        this.configNameCache = configNameCache;
+    }
+
+    /**
+     * Checks if a streaming deserialization method should be generated for a config.
+     * This requires the config to opt in with {@link me.bristermitten.mittenlib.config.Config#streamingJson()},
+     * and is not supported for unions or configs that extend another config class.
+     *
+     * @param ast The config structure to check
+     * @return true if a streaming deserialization method will be generated, false otherwise
+     */
+    public boolean isStreamingSupported(AbstractConfigStructure ast) {
+        if (!ast.settings().config().streamingJson()) {
+            return false;
+        }
+        if (ast instanceof AbstractConfigStructure.Union) {
+            return false;
+        }
+        if (ast.source() instanceof ConfigTypeSource.ClassConfigTypeSource classSource && classSource.parent().isPresent()) {
+            return false;
+        }
+        // every key needs its own case label
+        Set<String> keys = new HashSet<>();
+        for (Property property : ast.properties()) {
+            if (!keys.add(fieldNameGenerator.getConfigFieldName(property))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Creates the streaming deserialization method for a config class.
+     * {@link #isStreamingSupported(AbstractConfigStructure)} should be checked first.
+     *
+     * @param typeSpecBuilder The builder for the config class
+     * @param ast             The config structure
+     * @param daoName         The DAO class name, if applicable (can be null)
+     */
+    public void createStreamingDeserializeMethod(TypeSpec.Builder typeSpecBuilder,
+                                                 AbstractConfigStructure ast,
+                                                 @Nullable ClassName daoName) {
+        var dtoType = ast.source().element();
+        var implClassName = configurationClassNameGenerator.translateConfigClassName(ast);
+        final MethodSpec.Builder builder = MethodSpec.methodBuilder(methodNames.getStreamingDeserializeMethodName(ast))
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .returns(ParameterizedTypeName.get(DeserializationCodeGenerator.RESULT_CLASS_NAME, configurationClassNameGenerator.getPublicClassName(ast)))
+                .addParameter(ParameterSpec.builder(JsonReader.class, "reader", Modifier.FINAL).build())
+                .addParameter(ParameterSpec.builder(ObjectMapper.class, "mapper", Modifier.FINAL).build())
+                .addParameter(ParameterSpec.builder(DeserializationErrorMode.class, "errorMode", Modifier.FINAL).build())
+                .addException(IOException.class);
+
+        // anything other than an object can't possibly match, so let the regular method produce the error
+        builder.beginControlFlow("if (reader.peek() != $T.BEGIN_OBJECT)", JsonToken.class);
+        builder.addStatement("return $L(new $T(mapper, $T.readTree(reader), errorMode))",
+                methodNames.getDeserializeMethodName(ast), DeserializationContext.class, DataTreeTypeAdapter.class);
+        builder.endControlFlow();
+
+        if (daoName != null) {
+            builder.addStatement("$1T dao = new $1T()", daoName);
+        }
+
+        List<Property> properties = ast.properties();
+        for (int i = 0; i < properties.size(); i++) {
+            builder.addStatement("$T found$L = null", resultType(properties.get(i)), i);
+        }
+        builder.addStatement("$T<$T, $T> remaining = new $T<>()", Map.class, DataTree.class, DataTree.class, LinkedHashMap.class);
+
+        builder.addStatement("reader.beginObject()");
+        builder.beginControlFlow("while (reader.hasNext())");
+        builder.addStatement("$T name = reader.nextName()", String.class);
+        builder.beginControlFlow("switch (name)");
+        for (int i = 0; i < properties.size(); i++) {
+            Property property = properties.get(i);
+            builder.beginControlFlow("case $S:", fieldNameGenerator.getConfigFieldName(property));
+            addPropertyRead(builder, dtoType, property, i);
+            builder.addStatement("break");
+            builder.endControlFlow();
+        }
+        builder.addCode("default:\n$>");
+        builder.addStatement("reader.skipValue()");
+        builder.addCode("$<");
+        builder.endControlFlow();
+        builder.endControlFlow();
+        builder.addStatement("reader.endObject()");
+
+        // anything that wasn't read directly goes through the regular per-property methods
+        builder.addStatement("$1T context = new $1T(mapper, new $2T(remaining), errorMode)", DeserializationContext.class, DataTree.DataTreeMap.class);
+        var deserialiseMethodArguments = (daoName != null) ? "context, dao" : "context";
+        for (int i = 0; i < properties.size(); i++) {
+            Property property = properties.get(i);
+            builder.addStatement("final $T result$L = found$L != null ? found$L : $N($L)",
+                    resultType(property), i, i, i,
+                    DeserializationCodeGenerator.DESERIALIZE_METHOD_PREFIX + Strings.capitalize(property.name()),
+                    deserialiseMethodArguments);
+        }
+
+        final CodeBlock.Builder expressionBuilder = CodeBlock.builder();
+        expressionBuilder.add("return ");
+        for (int i = 0; i < properties.size(); i++) {
+            expressionBuilder.add("result$L.flatMap(var$L -> \n", i, i);
+        }
+        expressionBuilder.add("$T.ok(new $T(", Result.class, implClassName);
+        for (int i = 0; i < properties.size(); i++) {
+            expressionBuilder.add("var$L", i);
+            if (i != properties.size() - 1) {
+                expressionBuilder.add(", ");
+            }
+        }
+        expressionBuilder.add("))"); // Close ok and new parens
+        expressionBuilder.add(")".repeat(properties.size())); // close all the flatMap parens
+        builder.addStatement(expressionBuilder.build());
+
+        typeSpecBuilder.addMethod(builder.build());
+    }
+
+    private TypeName resultType(Property property) {
+        return ParameterizedTypeName.get(DeserializationCodeGenerator.RESULT_CLASS_NAME,
+                configurationClassNameGenerator.publicPropertyClassName(typesUtil.getBoxedType(property.propertyType())));
+    }
+
+    private void addPropertyRead(MethodSpec.Builder builder, Element dtoType, Property property, int index) {
+        TypeMirror elementType = property.propertyType();
+        TypeMirrorWrapper wrappedElementType = TypeMirrorWrapper.wrap(elementType);
+        if (wrappedElementType.hasTypeArguments()) {
+            addTreeRead(builder, index);
+            return;
+        }
+
+        // literals can be converted straight away, provided they have the expected type
+        final TypeName safeType = configurationClassNameGenerator.getConfigPropertyClassName(typesUtil.getSafeType(elementType));
+        Optional<TypeName> treeType = typesUtil.getDataTreeType(safeType);
+        if (treeType.isPresent()) {
+            builder.addStatement("$T value = $T.readTree(reader)", DataTree.class, DataTreeTypeAdapter.class);
+            builder.beginControlFlow("if (value instanceof $T)", treeType.get());
+            var convert = deserializationCodeGenerator.dataTreeConvert(safeType, treeType.get(),
+                    CodeBlock.of("($T) value", treeType.get()));
+            builder.addStatement("found$L = $T.ok($L)", index, Result.class, convert);
+            builder.nextControlFlow("else");
+            builder.addStatement("found$L = null", index);
+            builder.addStatement("remaining.put($T.string(name), value)", DataTree.class);
+            builder.endControlFlow();
+            return;
+        }
+
+        // nested configs can keep streaming, if they support it
+        Optional<AbstractConfigStructure> nested = configNameCache.lookupAST(elementType);
+        if (!wrappedElementType.isEnum()
+            && typesUtil.isConfigType(elementType)
+            && customDeserializers.getCustomDeserializer(elementType).isEmpty()
+            && nested.isPresent()
+            && isStreamingSupported(nested.get())) {
+            TypeName configClassName = configurationClassNameGenerator.getConfigClassName(elementType, dtoType);
+            builder.beginControlFlow("if (reader.peek() == $T.BEGIN_OBJECT)", JsonToken.class);
+            builder.addStatement("found$L = $T.$L(reader, mapper, errorMode)",
+                    index, configClassName, methodNames.getStreamingDeserializeMethodName(configClassName));
+            builder.nextControlFlow("else");
+            builder.addStatement("found$L = null", index);
+            builder.addStatement("remaining.put($T.string(name), $T.readTree(reader))", DataTree.class, DataTreeTypeAdapter.class);
+            builder.endControlFlow();
+            return;
+        }
+
+        addTreeRead(builder, index);
+    }
+
+    private void addTreeRead(MethodSpec.Builder builder, int index) {
+        builder.addStatement("found$L = null", index);
+        builder.addStatement("remaining.put($T.string(name), $T.readTree(reader))", DataTree.class, DataTreeTypeAdapter.class);
+    }
+}
@@ -0,0 +1,152 @@
+package me.bristermitten.mittenlib.annotations.compile;
+
+import com.google.gson.stream.JsonWriter;
+import com.squareup.javapoet.*;
+import io.toolisticon.aptk.tools.TypeMirrorWrapper;
+import me.bristermitten.mittenlib.annotations.ast.AbstractConfigStructure;
+import me.bristermitten.mittenlib.annotations.ast.Property;
+import me.bristermitten.mittenlib.annotations.parser.CustomDeserializers;
+import me.bristermitten.mittenlib.annotations.util.TypesUtil;
+import me.bristermitten.mittenlib.config.extension.UseObjectMapperSerialization;
+import me.bristermitten.mittenlib.config.reader.ObjectMapper;
+import me.bristermitten.mittenlib.config.tree.DataTree;
+import me.bristermitten.mittenlib.config.tree.DataTreeTypeAdapter;
+import me.bristermitten.mittenlib.util.Strings;
+
+import javax.inject.Inject;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.type.TypeMirror;
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Generates methods that serialize configuration classes directly to a {@link JsonWriter}.
+ * <p>
+ * This is the counterpart to {@link StreamingDeserializationCodeGenerator}.
+ * Strings, booleans, integers and doubles are written straight to the stream, and nested configs that also support
+ * streaming serialization write themselves. Anything else is converted with the regular per-property serialization
+ * methods generated by {@link SerializationCodeGenerator}, and only that property's {@link DataTree} is written,
+ * so the output is the same as serializing the whole config to a tree first.
+ */
+public class StreamingSerializationCodeGenerator {
+    private final TypesUtil typesUtil;
+    private final FieldNameGenerator fieldNameGenerator;
+    private final ConfigurationClassNameGenerator configurationClassNameGenerator;
+    private final SerializationCodeGenerator serializationCodeGenerator;
+    private final StreamingDeserializationCodeGenerator streamingDeserializationCodeGenerator;
+    private final MethodNames methodNames;
+    private final CustomDeserializers customDeserializers;
+    private final ConfigNameCache configNameCache;
+
+    @Inject
+    public StreamingSerializationCodeGenerator(TypesUtil typesUtil,
+                                               FieldNameGenerator fieldNameGenerator,
+                                               ConfigurationClassNameGenerator configurationClassNameGenerator,
+                                               SerializationCodeGenerator serializationCodeGenerator,
+                                               StreamingDeserializationCodeGenerator streamingDeserializationCodeGenerator,
+                                               MethodNames methodNames,
+                                               CustomDeserializers customDeserializers,
+                                               ConfigNameCache configNameCache) {
+        this.typesUtil = typesUtil;
+        this.fieldNameGenerator = fieldNameGenerator;
+        this.configurationClassNameGenerator = configurationClassNameGenerator;
+        this.serializationCodeGenerator = serializationCodeGenerator;
+        this.streamingDeserializationCodeGenerator = streamingDeserializationCodeGenerator;
+        this.methodNames = methodNames;
+        this.customDeserializers = customDeserializers;
+        this.configNameCache = configNameCache;
+    }
+
+    /**
+     * Checks if a streaming serialization method should be generated for a config.
+     * This requires the config to support both streaming deserialization and regular serialization.
+     *
+     * @param ast The config structure to check
+     * @return true if a streaming serialization method will be generated, false otherwise
+     */
+    public boolean isStreamingSupported(AbstractConfigStructure ast) {
+        return streamingDeserializationCodeGenerator.isStreamingSupported(ast)
+               && serializationCodeGenerator.isSerializationSupported(ast);
+    }
+
+    /**
+     * Creates the streaming serialization method for a config class.
+     * {@link #isStreamingSupported(AbstractConfigStructure)} should be checked first.
+     *
+     * @param typeSpecBuilder The builder for the config class
+     * @param ast             The config structure
+     */
+    public void createStreamingSerializeMethod(TypeSpec.Builder typeSpecBuilder, AbstractConfigStructure ast) {
+        final MethodSpec.Builder builder = MethodSpec.methodBuilder(methodNames.getStreamingSerializeMethodName(ast))
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .addParameter(ParameterSpec.builder(configurationClassNameGenerator.getPublicClassName(ast), "config", Modifier.FINAL).build())
+                .addParameter(ParameterSpec.builder(JsonWriter.class, "writer", Modifier.FINAL).build())
+                .addParameter(ParameterSpec.builder(ObjectMapper.class, "mapper", Modifier.FINAL).build())
+                .addException(IOException.class);
+
+        builder.addStatement("writer.beginObject()");
+        List<Property> properties = ast.properties();
+        for (int i = 0; i < properties.size(); i++) {
+            Property property = properties.get(i);
+            builder.addStatement("writer.name($S)", fieldNameGenerator.getConfigFieldName(property));
+            addPropertyWrite(builder, property, serializationCodeGenerator.propertyAccess(ast, property), i);
+        }
+        builder.addStatement("writer.endObject()");
+
+        typeSpecBuilder.addMethod(builder.build());
+    }
+
+    private void addPropertyWrite(MethodSpec.Builder builder, Property property, CodeBlock access, int index) {
+        TypeMirror elementType = property.propertyType();
+        TypeMirrorWrapper wrappedElementType = TypeMirrorWrapper.wrap(elementType);
+        if (wrappedElementType.hasTypeArguments()
+            || typesUtil.getAnnotation(property.source().element(), UseObjectMapperSerialization.class) != null) {
+            addTreeWrite(builder, property, access);
+            return;
+        }
+
+        // literals can be written straight away. Floats go through the tree to keep the exact same conversion
+        TypeName typeName = TypeName.get(elementType);
+        TypeName unboxed = typeName.isBoxedPrimitive() ? typeName.unbox() : typeName;
+        if (typesUtil.getDataTreeType(typeName).isPresent() && !unboxed.equals(TypeName.FLOAT)) {
+            if (typeName.isPrimitive() || unboxed.equals(TypeName.BOOLEAN) || unboxed.equals(ClassName.get(String.class))) {
+                // the Boolean and String overloads handle null themselves
+                builder.addStatement("writer.value($L)", access);
+                return;
+            }
+            builder.addStatement("final $T value$L = $L", typeName, index, access);
+            builder.beginControlFlow("if (value$L == null)", index);
+            builder.addStatement("writer.nullValue()");
+            builder.nextControlFlow("else");
+            builder.addStatement("writer.value(value$L.$L())", index, unboxed.equals(TypeName.DOUBLE) ? "doubleValue" : "longValue");
+            builder.endControlFlow();
+            return;
+        }
+
+        // nested configs can keep streaming, if they support it
+        Optional<AbstractConfigStructure> nested = configNameCache.lookupAST(elementType);
+        if (!wrappedElementType.isEnum()
+            && typesUtil.isConfigType(elementType)
+            && customDeserializers.getCustomDeserializer(elementType).isEmpty()
+            && nested.isPresent()
+            && isStreamingSupported(nested.get())) {
+            TypeName configClassName = configurationClassNameGenerator.getConfigClassName(elementType, null);
+            builder.addStatement("final $T value$L = $L", configurationClassNameGenerator.publicPropertyClassName(property), index, access);
+            builder.beginControlFlow("if (value$L == null)", index);
+            builder.addStatement("writer.nullValue()");
+            builder.nextControlFlow("else");
+            builder.addStatement("$T.$L(value$L, writer, mapper)",
+                    configClassName, methodNames.getStreamingSerializeMethodName(configClassName), index);
+            builder.endControlFlow();
+            return;
+        }
+
+        addTreeWrite(builder, property, access);
+    }
+
+    private void addTreeWrite(MethodSpec.Builder builder, Property property, CodeBlock access) {
+        builder.addStatement("$T.writeTree(writer, $N($L, mapper))", DataTreeTypeAdapter.class,
+                SerializationCodeGenerator.SERIALIZE_METHOD_PREFIX + Strings.capitalize(property.name()), access);
+    }
+}
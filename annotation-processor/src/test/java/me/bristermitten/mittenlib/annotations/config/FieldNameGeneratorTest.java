@@ -43,7 +43,7 @@ class FieldNameGeneratorTest {
     private void assertConfigKeyUsed(JavaFileObject source, String key) {
         assertThat(source)
                 .contentsAsUtf8String()
-                .containsMatch(Pattern.compile("\\$data\\.(get|getOrDefault)\\(\"%s\"".formatted(key)));
+                .containsMatch(Pattern.compile("DataTree\\.key\\(\"%s\"\\)".formatted(key)));
     }
 
     @Test
@@ -88,4 +88,21 @@ class FieldNameGeneratorTest {
         assertConfigKeyUsed(source, "field-name");
     }
 
+    @Test
+    void assertThat_keyFieldNames_doNotClash_withEachOther() {
+        var source = compileField("""
+                int a;
+                int a_;
+                int KEY_a;
+                """);
+        assertThat(source)
+                .contentsAsUtf8String()
+                .containsMatch(Pattern.compile("KEY_a_ = DataTree\\.key\\(\"a\"\\)"));
+        assertThat(source)
+                .contentsAsUtf8String()
+                .containsMatch(Pattern.compile("KEY_a__ = DataTree\\.key\\(\"a_\"\\)"));
+        assertThat(source)
+                .contentsAsUtf8String()
+                .containsMatch(Pattern.compile("KEY_KEY_a = DataTree\\.key\\(\"KEY_a\"\\)"));
+    }
 }
@@ -22,6 +22,7 @@ import org.junit.jupiter.api.io.TempDir;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.util.Set;
 
 import static me.bristermitten.mittenlib.annotations.util.IntegrationTests.loadResourceString;
@@ -121,6 +122,39 @@ public class SaveDefaultsIntegrationTest {
         assertThat(savedContent).contains("thing-name: a");
     }
 
+    @Test
+    void testSaveSkipsWriteWhenNothingIsMissing() throws IOException {
+        Path configFile = tempDir.resolve("test-config.yml");
+        Files.writeString(configFile, """
+                age: 3
+                thing-name: a
+                children: []
+                """);
+
+        ConfigReader reader = injector.getInstance(ConfigReader.class);
+        YamlObjectWriter writer = injector.getInstance(YamlObjectWriter.class);
+        Configuration<ClassConfigImpl> config = new Configuration<>(
+                configFile.getFileName().toString(),
+                ClassConfigImpl.class,
+                ClassConfigImpl::deserializeClassConfigImpl,
+                ClassConfigImpl::serializeClassConfigImpl
+        );
+        ReadingConfigProvider<ClassConfigImpl> provider = new ReadingConfigProvider<>(configFile, config, reader, writer);
+
+        // the first save adds the missing default
+        provider.save(provider.get()).getOrThrow();
+        String savedContent = Files.readString(configFile);
+        assertThat(savedContent).contains("defaultValue: 1");
+
+        // the second has nothing to add, so shouldn't touch the file
+        FileTime marker = FileTime.fromMillis(0);
+        Files.setLastModifiedTime(configFile, marker);
+        provider.save(provider.get()).getOrThrow();
+
+        assertThat(Files.getLastModifiedTime(configFile)).isEqualTo(marker);
+        assertThat(Files.readString(configFile)).isEqualTo(savedContent);
+    }
+
     @Test
     void testSaveWithOverride() throws IOException {
         // Create a config file with a different age value
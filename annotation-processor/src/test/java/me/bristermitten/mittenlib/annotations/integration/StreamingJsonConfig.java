@@ -0,0 +1,32 @@
+package me.bristermitten.mittenlib.annotations.integration;
+
+import me.bristermitten.mittenlib.config.Config;
+import me.bristermitten.mittenlib.config.Source;
+import me.bristermitten.mittenlib.config.names.ConfigName;
+import org.jspecify.annotations.Nullable;
+
+import java.util.List;
+
+@Config(streamingJson = true)
+@Source("streaming.json")
+public class StreamingJsonConfig {
+    @ConfigName("thing-name")
+    String name;
+
+    int age;
+
+    int defaultValue = 1;
+
+    double ratio;
+
+    List<String> tags;
+
+    @Nullable ChildConfig child;
+
+    @Config(streamingJson = true)
+    interface ChildConfig {
+        String id();
+
+        long size();
+    }
+}
@@ -0,0 +1,179 @@
+package me.bristermitten.mittenlib.annotations.integration;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import me.bristermitten.mittenlib.MittenLibConsumer;
+import me.bristermitten.mittenlib.config.ConfigModule;
+import me.bristermitten.mittenlib.config.Configuration;
+import me.bristermitten.mittenlib.config.DeserializationErrorMode;
+import me.bristermitten.mittenlib.config.provider.ReadingConfigProvider;
+import me.bristermitten.mittenlib.config.reader.ConfigReader;
+import me.bristermitten.mittenlib.config.writer.ObjectWriter;
+import me.bristermitten.mittenlib.files.FileTypeModule;
+import me.bristermitten.mittenlib.files.json.GsonObjectWriter;
+import me.bristermitten.mittenlib.util.MultipleFailuresException;
+import me.bristermitten.mittenlib.watcher.FileWatcherModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StreamingJsonIntegrationTest {
+
+    private Injector injector;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setup() {
+        injector = Guice.createInjector(
+                new ConfigModule(Set.of()),
+                new FileWatcherModule(),
+                new FileTypeModule(),
+                new AbstractModule() {
+                    @Override
+                    protected void configure() {
+                        bind(MittenLibConsumer.class)
+                                .toInstance(new MittenLibConsumer("Tests"));
+                    }
+                }
+        );
+    }
+
+    @Test
+    void testStreamingMatchesTreeDeserialization() throws IOException {
+        Path configFile = tempDir.resolve("streaming.json");
+        Files.writeString(configFile, """
+                {
+                  "thing-name": "a",
+                  "unknown": {"nested": [1, 2, 3]},
+                  "age": 3,
+                  "ratio": 0.5,
+                  "tags": ["x", "y"],
+                  "child": {"id": "pee", "size": 12345678901}
+                }
+                """);
+
+        ConfigReader reader = injector.getInstance(ConfigReader.class);
+        Configuration<StreamingJsonConfig> config = StreamingJsonConfigImpl.CONFIG;
+        assertThat(config.getStreamingDeserializeFunction()).isNotNull();
+
+        StreamingJsonConfig streamed = reader.load(config, configFile).getOrThrow();
+        StreamingJsonConfig tree = reader.load(config.getType(), configFile, config.getDeserializeFunction()).getOrThrow();
+
+        assertThat(streamed).isEqualTo(tree);
+        assertThat(streamed)
+                .isEqualTo(new StreamingJsonConfigImpl("a", 3, 1, 0.5, List.of("x", "y"),
+                        new StreamingJsonConfigImpl.ChildConfigImpl("pee", 12345678901L)));
+    }
+
+    @Test
+    void testStreamingFallsBackForMismatchedTypes() throws IOException {
+        Path configFile = tempDir.resolve("streaming.json");
+        Files.writeString(configFile, """
+                {"thing-name": "a", "age": 3, "ratio": 1, "tags": [], "child": null, "defaultValue": 7}
+                """);
+
+        ConfigReader reader = injector.getInstance(ConfigReader.class);
+        Configuration<StreamingJsonConfig> config = StreamingJsonConfigImpl.CONFIG;
+
+        var streamed = reader.load(config, configFile);
+        var tree = reader.load(config.getType(), configFile, config.getDeserializeFunction());
+
+        assertThat(streamed.isSuccess()).isEqualTo(tree.isSuccess());
+        if (tree.isSuccess()) {
+            assertThat(streamed.getOrThrow()).isEqualTo(tree.getOrThrow());
+        }
+    }
+
+    @Test
+    void testStreamingReportsMissingFields() throws IOException {
+        Path configFile = tempDir.resolve("streaming.json");
+        Files.writeString(configFile, """
+                {"age": 3}
+                """);
+
+        ConfigReader reader = injector.getInstance(ConfigReader.class);
+
+        assertThat(reader.load(StreamingJsonConfigImpl.CONFIG, configFile).isFailure()).isTrue();
+    }
+
+    @Test
+    void testStreamingCollectsAllErrorsByDefault() throws IOException {
+        Path configFile = writeConfigWithInvalidTags();
+
+        ConfigReader reader = injector.getInstance(ConfigReader.class);
+        var result = reader.load(StreamingJsonConfigImpl.CONFIG, configFile);
+
+        assertThat(result.error()).get()
+                .isInstanceOfSatisfying(MultipleFailuresException.class, e -> assertThat(e.getFailures()).hasSize(2));
+    }
+
+    @Test
+    void testStreamingHonoursFailFast() throws IOException {
+        Path configFile = writeConfigWithInvalidTags();
+        ConfigReader reader = injector.getInstance(ConfigReader.class);
+
+        var readerFailFast = reader.withErrorMode(DeserializationErrorMode.FAIL_FAST)
+                .load(StreamingJsonConfigImpl.CONFIG, configFile);
+        var configFailFast = reader.load(StreamingJsonConfigImpl.CONFIG.withErrorMode(DeserializationErrorMode.FAIL_FAST), configFile);
+
+        assertThat(readerFailFast.isFailure()).isTrue();
+        assertThat(readerFailFast.error()).get().isNotInstanceOf(MultipleFailuresException.class);
+        assertThat(configFailFast.isFailure()).isTrue();
+        assertThat(configFailFast.error()).get().isNotInstanceOf(MultipleFailuresException.class);
+    }
+
+    private Path writeConfigWithInvalidTags() throws IOException {
+        Path configFile = tempDir.resolve("streaming.json");
+        Files.writeString(configFile, """
+                {"thing-name": "a", "age": 3, "ratio": 0.5, "tags": [{"a": 1}, "x", {"b": 2}], "child": null}
+                """);
+        return configFile;
+    }
+
+    @Test
+    void testStreamingSerializationMatchesTreeSerialization() {
+        ConfigReader reader = injector.getInstance(ConfigReader.class);
+        GsonObjectWriter writer = injector.getInstance(GsonObjectWriter.class);
+        Configuration<StreamingJsonConfig> config = StreamingJsonConfigImpl.CONFIG;
+        assertThat(config.getStreamingSerializeFunction()).isNotNull();
+        assertThat(config.getSerializeFunction()).isNotNull();
+
+        for (StreamingJsonConfig value : List.of(
+                new StreamingJsonConfigImpl("a", 3, 1, 0.5, List.of("x", "y"),
+                        new StreamingJsonConfigImpl.ChildConfigImpl("pee", 12345678901L)),
+                new StreamingJsonConfigImpl("b", -1, 7, 1e-9, List.of(), null))) {
+            StringWriter streamed = new StringWriter();
+            writer.write(value, streamed, config.getStreamingSerializeFunction(), reader.getMapper()).getOrThrow();
+            String tree = writer.write(config.getSerializeFunction().apply(value, reader.getMapper())).getOrThrow();
+
+            assertThat(streamed.toString()).isEqualTo(tree);
+        }
+    }
+
+    @Test
+    void testStreamingSaveRoundTrips() throws IOException {
+        Path configFile = tempDir.resolve("streaming.json");
+        ConfigReader reader = injector.getInstance(ConfigReader.class);
+        var provider = new ReadingConfigProvider<>(configFile, StreamingJsonConfigImpl.CONFIG, reader,
+                injector.getInstance(ObjectWriter.class));
+        StreamingJsonConfig value = new StreamingJsonConfigImpl("a", 3, 1, 0.5, List.of("x", "y"),
+                new StreamingJsonConfigImpl.ChildConfigImpl("pee", 12345678901L));
+
+        provider.save(value, true).getOrThrow();
+
+        assertThat(Files.readString(configFile)).contains("\"thing-name\"");
+        assertThat(provider.get()).isEqualTo(value);
+    }
+}
@@ -6,13 +6,19 @@ import me.bristermitten.mittenlib.util.MultipleFailuresException;
 import me.bristermitten.mittenlib.util.Result;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
 
 
 /**
@@ -24,6 +30,12 @@ public class CollectionsUtils {
     };
     private static final TypeToken<DataTree> MAP_STRING_OBJECT_TOKEN = new TypeToken<DataTree>() {
     };
+    /**
+     * Key types that map keys can be converted to directly. These follow the same rules as Gson,
+     * and anything that can't be converted is left to the {@link me.bristermitten.mittenlib.config.reader.ObjectMapper}.
+     * Enum keys are handled separately.
+     */
+    private static final Map<Class<?>, KeyConverter> KEY_CONVERTERS = createKeyConverters();
 
 
     private CollectionsUtils() {
@@ -32,6 +44,7 @@ public class CollectionsUtils {
 
     /**
      * Attempt to deserialize a list using the MittenLib config system.
+     * If any elements fail to deserialize, the result depends on the context's {@link DeserializationContext#getErrorMode()}.
      *
      * @param rawData                 the raw data to deserialize, which should represent a {@code List<Map<String, Object>>}
      * @param baseContext             the base context to use for deserialization
@@ -40,30 +53,46 @@ public class CollectionsUtils {
      * @return a {@link Result} containing the deserialized list, or a {@link Result#fail(Exception)} if deserialization failed
      */
     public static <T> Result<List<T>> deserializeList(Object rawData, DeserializationContext baseContext, DeserializationFunction<T> deserializationFunction) {
-        try {
-            // gamble: first we try a blind cast and hope for the best
-            //noinspection unchecked
+        if (rawData instanceof DataTree.DataTreeArray) {
+            return deserialiseListFrom(Arrays.asList(((DataTree.DataTreeArray) rawData).values), baseContext, deserializationFunction);
+        }
+        if (rawData instanceof List && allDataTrees((List<?>) rawData)) {
+            //noinspection unchecked checked above
             return deserialiseListFrom((List<DataTree>) rawData, baseContext, deserializationFunction);
-        } catch (ClassCastException ignore) {
-            // fast path has failed, so...
         }
-        // fall back to gson for a more informative error message
+        // fall back to gson for anything else, which also gives a more informative error message
         Result<List<DataTree>> rawListRes = baseContext.getMapper().map(rawData, LIST_MAP_STRING_OBJECT_TOKEN);
         return rawListRes.flatMap(f -> deserialiseListFrom(f, baseContext, deserializationFunction));
     }
 
+    private static boolean allDataTrees(List<?> list) {
+        for (Object element : list) {
+            if (!(element instanceof DataTree)) {
+                return false;
+            }
+        }
+        return true;
+    }
 
     private static <T> Result<List<T>> deserialiseListFrom(List<DataTree> rawList, DeserializationContext baseContext, DeserializationFunction<T> deserializationFunction) {
         // Apply the deserialization function to each element of the list, flattening the result
-        final List<T> res = new ArrayList<>();
-        final List<Throwable> errors = new ArrayList<>();
+        final List<T> res = new ArrayList<>(rawList.size());
+        List<Throwable> errors = null;
 
         for (DataTree map : rawList) {
             Result<T> deserialised = deserializationFunction.apply(baseContext.withData(map));
-            deserialised.error().ifPresent(errors::add);
-            deserialised.value().ifPresent(res::add);
+            if (deserialised.isSuccess()) {
+                deserialised.value().ifPresent(res::add);
+            } else if (baseContext.getErrorMode() == DeserializationErrorMode.FAIL_FAST) {
+                return failure(deserialised);
+            } else {
+                if (errors == null) {
+                    errors = new ArrayList<>();
+                }
+                deserialised.error().ifPresent(errors::add);
+            }
         }
-        if (!errors.isEmpty()) {
+        if (errors != null) {
             return Result.fail(new MultipleFailuresException("Failed to deserialize list", errors));
         }
 
@@ -72,6 +101,7 @@ public class CollectionsUtils {
 
     /**
      * Attempt to deserialise a map using the MittenLib config system.
+     * If any values fail to deserialize, the result depends on the context's {@link DeserializationContext#getErrorMode()}.
      *
      * @param keyType                 the type of the keys in the map
      * @param rawData                 the raw data to deserialise, which should represent a {@code Map<String, Object>}
@@ -82,27 +112,169 @@ public class CollectionsUtils {
      * @return a {@link Result} containing the deserialised map, or a {@link Result#fail(Exception)} if deserialisation failed
      */
     public static <K, V> Result<Map<K, V>> deserializeMap(Class<K> keyType, Object rawData, DeserializationContext baseContext, DeserializationFunction<V> deserializationFunction) {
-        // first we use the object mapper to convert the raw data into a Map<K, Map<String, Object>>
+        if (rawData instanceof DataTree.DataTreeMap) {
+            Map<DataTree, DataTree> rawMap = ((DataTree.DataTreeMap) rawData).values();
+            Object[] keys = convertKeys(keyType, rawMap);
+            if (keys != null) {
+                Result<Map<K, V>> res = deserialiseMapFrom(keyType, keys, rawMap.values(), baseContext, deserializationFunction);
+                if (res != null) {
+                    return res;
+                }
+            }
+        }
+        // otherwise we use the object mapper to convert the raw data into a Map<K, DataTree>
 //        noinspection unchecked absolutely evil
         Result<Map<K, DataTree>> rawMapRes = baseContext.getMapper().map(rawData,
                 (TypeToken<Map<K, DataTree>>) TypeToken.get(
                         new GenericParameterizedType(Map.class, keyType, MAP_STRING_OBJECT_TOKEN.getType())
                 ));
-        return rawMapRes.flatMap(rawMap -> {
-            // Apply the deserialization function to each value in the map, flattening the result
-            final Map<K, V> res = new HashMap<>();
-            final List<Throwable> errors = new ArrayList<>();
-            for (Map.Entry<K, DataTree> entry : rawMap.entrySet()) {
-                Result<V> deserialised = deserializationFunction.apply(baseContext.withData(entry.getValue()));
+        // the keys of a Map are already unique, so this is never null
+        return rawMapRes.flatMap(rawMap -> Objects.requireNonNull(
+                deserialiseMapFrom(keyType, rawMap.keySet().toArray(), rawMap.values(), baseContext, deserializationFunction)));
+    }
+
+    /**
+     * Convert the keys of a map with the {@link #KEY_CONVERTERS} table.
+     *
+     * @return the converted keys, in iteration order, or null if any key could not be converted, in which case the
+     * {@link me.bristermitten.mittenlib.config.reader.ObjectMapper} should be used instead
+     */
+    private static Object @Nullable [] convertKeys(Class<?> keyType, Map<DataTree, DataTree> rawMap) {
+        KeyConverter converter = KEY_CONVERTERS.get(keyType);
+        if (converter == null) {
+            if (!keyType.isEnum()) {
+                return null;
+            }
+            converter = CollectionsUtils::convertEnumKey;
+        }
+        Object[] converted = new Object[rawMap.size()];
+        int i = 0;
+        for (DataTree rawKey : rawMap.keySet()) {
+            String keyString = keyString(rawKey);
+            Object key = keyString == null ? null : converter.convert(keyString, keyType);
+            if (key == null) {
+                return null;
+            }
+            converted[i++] = key;
+        }
+        return converted;
+    }
+
+    /**
+     * @return the deserialised map, or null if two keys are equal, which the mapper reports as an error
+     */
+    private static <K, V> @Nullable Result<Map<K, V>> deserialiseMapFrom(Class<K> keyType, Object[] keys, Collection<DataTree> rawValues,
+                                                                         DeserializationContext baseContext, DeserializationFunction<V> deserializationFunction) {
+        // Apply the deserialization function to each value in the map, flattening the result
+        final Map<K, V> res = new HashMap<>(mapCapacity(keys.length));
+        List<Throwable> errors = null;
+        int i = 0;
+        for (DataTree rawValue : rawValues) {
+            K key = keyType.cast(keys[i++]);
+            Result<V> deserialised = deserializationFunction.apply(baseContext.withData(rawValue));
+            if (deserialised.isSuccess()) {
+                V value = deserialised.value().orElse(null);
+                if (value != null && res.put(key, value) != null) {
+                    return null;
+                }
+            } else if (baseContext.getErrorMode() == DeserializationErrorMode.FAIL_FAST) {
+                return failure(deserialised);
+            } else {
+                if (errors == null) {
+                    errors = new ArrayList<>();
+                }
                 deserialised.error().ifPresent(errors::add);
-                deserialised.value().ifPresent(value -> res.put(entry.getKey(), value));
             }
-            if (!errors.isEmpty()) {
-                return Result.fail(new MultipleFailuresException("Failed to deserialize map", errors));
+        }
+        if (errors != null) {
+            return Result.fail(new MultipleFailuresException("Failed to deserialize map", errors));
+        }
+
+        return Result.ok(res);
+    }
+
+    private static <T> Result<T> failure(Result<?> failed) {
+        return Result.fail(failed.error().orElseThrow(() -> new IllegalArgumentException("Result is not a failure")));
+    }
+
+    private static int mapCapacity(int expectedSize) {
+        return expectedSize < 3 ? expectedSize + 1 : (int) (expectedSize / 0.75f + 1);
+    }
+
+    /**
+     * Get the string form of a map key, as it would be written as a JSON object key.
+     *
+     * @return the key, or null if the key is not a literal
+     */
+    private static @Nullable String keyString(DataTree key) {
+        if (key instanceof DataTree.DataTreeLiteral.DataTreeLiteralString) {
+            return ((DataTree.DataTreeLiteral.DataTreeLiteralString) key).value;
+        }
+        if (key instanceof DataTree.DataTreeLiteral) {
+            return String.valueOf(key.value());
+        }
+        return null;
+    }
+
+    private static @Nullable Object convertEnumKey(String key, Class<?> enumType) {
+        // only exact constant names are handled here, anything else (e.g. @SerializedName) is left to the mapper
+        for (Object constant : enumType.getEnumConstants()) {
+            if (((Enum<?>) constant).name().equals(key)) {
+                return constant;
             }
+        }
+        return null;
+    }
 
-            return Result.ok(res);
+    private static @Nullable Double parseFiniteDouble(String key) {
+        double value = Double.parseDouble(key);
+        return Double.isNaN(value) || Double.isInfinite(value) ? null : value;
+    }
+
+    private static Map<Class<?>, KeyConverter> createKeyConverters() {
+        Map<Class<?>, KeyConverter> converters = new HashMap<>();
+        converters.put(String.class, (key, type) -> key);
+        converters.put(Integer.class, numeric(Integer::valueOf));
+        converters.put(Long.class, numeric(Long::valueOf));
+        converters.put(Short.class, numeric(Short::valueOf));
+        converters.put(Byte.class, numeric(Byte::valueOf));
+        converters.put(Double.class, numeric(CollectionsUtils::parseFiniteDouble));
+        converters.put(Float.class, numeric(key -> {
+            Double value = parseFiniteDouble(key);
+            return value == null ? null : value.floatValue();
+        }));
+        converters.put(Boolean.class, (key, type) -> Boolean.valueOf(key));
+        converters.put(Character.class, (key, type) -> key.length() == 1 ? key.charAt(0) : null);
+        converters.put(UUID.class, (key, type) -> {
+            try {
+                return UUID.fromString(key);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
         });
+        return converters;
+    }
+
+    private static KeyConverter numeric(Function<String, @Nullable Object> parser) {
+        return (key, type) -> {
+            try {
+                return parser.apply(key);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        };
+    }
+
+    /**
+     * Converts map keys from their string form, without going through the
+     * {@link me.bristermitten.mittenlib.config.reader.ObjectMapper}
+     */
+    @FunctionalInterface
+    private interface KeyConverter {
+        /**
+         * @return the converted key, or null if the key could not be converted
+         */
+        @Nullable Object convert(String key, Class<?> keyType);
     }
 
     /**
@@ -34,4 +34,15 @@ public @interface Config {
      * @return true if serialization is required, false otherwise
      */
     boolean requireSerialization() default false;
+
+    /**
+     * Whether to also generate a method that deserializes this config directly from a JSON stream.
+     * When present, JSON files are read straight into the config without building a full
+     * {@link me.bristermitten.mittenlib.config.tree.DataTree} first.
+     * This has no effect on other file types.
+     *
+     * @return true if a streaming JSON deserialization method should be generated, false otherwise
+     * @see StreamingDeserializationFunction
+     */
+    boolean streamingJson() default false;
 }
@@ -13,6 +13,9 @@ public class Configuration<T> {
 
     private final @Nullable DeserializationFunction<T> deserializeFunction;
     private final @Nullable SerializationFunction<T> serializeFunction;
+    private final @Nullable StreamingDeserializationFunction<T> streamingDeserializeFunction;
+    private final @Nullable StreamingSerializationFunction<T> streamingSerializeFunction;
+    private final @Nullable DeserializationErrorMode errorMode;
 
     /**
      * Create a new Configuration
@@ -34,10 +37,55 @@ public class Configuration<T> {
      * @param serializeFunction   the function to use to serialize the data
      */
     public Configuration(String fileName, Class<T> type, @Nullable DeserializationFunction<T> deserializeFunction, @Nullable SerializationFunction<T> serializeFunction) {
+        this(fileName, type, deserializeFunction, serializeFunction, null);
+    }
+
+    /**
+     * Create a new Configuration
+     *
+     * @param fileName                     the name of the file to load
+     * @param type                         the type to deserialize to
+     * @param deserializeFunction          the function to use to deserialize the data
+     * @param serializeFunction            the function to use to serialize the data
+     * @param streamingDeserializeFunction the function to use to deserialize JSON data directly from a stream
+     */
+    public Configuration(String fileName, Class<T> type, @Nullable DeserializationFunction<T> deserializeFunction, @Nullable SerializationFunction<T> serializeFunction, @Nullable StreamingDeserializationFunction<T> streamingDeserializeFunction) {
+        this(fileName, type, deserializeFunction, serializeFunction, streamingDeserializeFunction, null);
+    }
+
+    /**
+     * Create a new Configuration
+     *
+     * @param fileName                     the name of the file to load
+     * @param type                         the type to deserialize to
+     * @param deserializeFunction          the function to use to deserialize the data
+     * @param serializeFunction            the function to use to serialize the data
+     * @param streamingDeserializeFunction the function to use to deserialize JSON data directly from a stream
+     * @param streamingSerializeFunction   the function to use to serialize JSON data directly to a stream
+     */
+    public Configuration(String fileName, Class<T> type, @Nullable DeserializationFunction<T> deserializeFunction, @Nullable SerializationFunction<T> serializeFunction, @Nullable StreamingDeserializationFunction<T> streamingDeserializeFunction, @Nullable StreamingSerializationFunction<T> streamingSerializeFunction) {
+        this(fileName, type, deserializeFunction, serializeFunction, streamingDeserializeFunction, streamingSerializeFunction, null);
+    }
+
+    private Configuration(String fileName, Class<T> type, @Nullable DeserializationFunction<T> deserializeFunction, @Nullable SerializationFunction<T> serializeFunction, @Nullable StreamingDeserializationFunction<T> streamingDeserializeFunction, @Nullable StreamingSerializationFunction<T> streamingSerializeFunction, @Nullable DeserializationErrorMode errorMode) {
         this.fileName = fileName;
         this.type = type;
         this.deserializeFunction = deserializeFunction;
         this.serializeFunction = serializeFunction;
+        this.streamingDeserializeFunction = streamingDeserializeFunction;
+        this.streamingSerializeFunction = streamingSerializeFunction;
+        this.errorMode = errorMode;
+    }
+
+    /**
+     * Create a copy of this Configuration that is deserialized with the given error mode,
+     * regardless of the {@link me.bristermitten.mittenlib.config.reader.ConfigReader}'s mode.
+     *
+     * @param errorMode the error mode to use
+     * @return the new Configuration
+     */
+    public Configuration<T> withErrorMode(DeserializationErrorMode errorMode) {
+        return new Configuration<>(fileName, type, deserializeFunction, serializeFunction, streamingDeserializeFunction, streamingSerializeFunction, errorMode);
     }
 
     /**
@@ -78,4 +126,34 @@ public class Configuration<T> {
     public SerializationFunction<T> getSerializeFunction() {
         return serializeFunction;
     }
+
+    /**
+     * Returns the function to use to deserialize JSON data directly from a stream, if one was generated.
+     *
+     * @return the function to use to deserialize JSON data directly from a stream
+     */
+    @Nullable
+    public StreamingDeserializationFunction<T> getStreamingDeserializeFunction() {
+        return streamingDeserializeFunction;
+    }
+
+    /**
+     * Returns the function to use to serialize JSON data directly to a stream, if one was generated.
+     *
+     * @return the function to use to serialize JSON data directly to a stream
+     */
+    @Nullable
+    public StreamingSerializationFunction<T> getStreamingSerializeFunction() {
+        return streamingSerializeFunction;
+    }
+
+    /**
+     * Returns how errors should be handled when deserializing this config.
+     *
+     * @return the error mode, or null to use the {@link me.bristermitten.mittenlib.config.reader.ConfigReader}'s mode
+     */
+    @Nullable
+    public DeserializationErrorMode getErrorMode() {
+        return errorMode;
+    }
 }
@@ -10,16 +10,29 @@ import org.jetbrains.annotations.NotNull;
 public class DeserializationContext {
     private final ObjectMapper mapper;
     private final DataTree data;
+    private final DeserializationErrorMode errorMode;
 
     /**
-     * Create a new DeserializationContext
+     * Create a new DeserializationContext, using {@link DeserializationErrorMode#COLLECT_ALL}
      *
      * @param mapper the mapper to use
      * @param data   the data to deserialise
      */
     public DeserializationContext(ObjectMapper mapper, DataTree data) {
+        this(mapper, data, DeserializationErrorMode.COLLECT_ALL);
+    }
+
+    /**
+     * Create a new DeserializationContext
+     *
+     * @param mapper    the mapper to use
+     * @param data      the data to deserialise
+     * @param errorMode how errors should be handled
+     */
+    public DeserializationContext(ObjectMapper mapper, DataTree data, DeserializationErrorMode errorMode) {
         this.mapper = mapper;
         this.data = data;
+        this.errorMode = errorMode;
     }
 
     /**
@@ -39,7 +52,15 @@ public class DeserializationContext {
         return data;
     }
 
+    /**
+     * Returns how errors should be handled when deserializing collections.
+     * @return the error mode
+     */
+    public DeserializationErrorMode getErrorMode() {
+        return errorMode;
+    }
+
     public DeserializationContext withData(DataTree data) {
-        return new DeserializationContext(this.mapper, data);
+        return new DeserializationContext(this.mapper, data, this.errorMode);
     }
 }
@@ -0,0 +1,20 @@
+package me.bristermitten.mittenlib.config;
+
+/**
+ * How deserialization handles errors in collections (lists and maps) of config values
+ *
+ * @see DeserializationContext#getErrorMode()
+ */
+public enum DeserializationErrorMode {
+    /**
+     * Stop at the first invalid element, and fail with its error.
+     * This is the cheapest mode, and is best suited to reloads, where any error means the config is rejected.
+     */
+    FAIL_FAST,
+    /**
+     * Deserialize every element, and fail with a {@link me.bristermitten.mittenlib.util.MultipleFailuresException}
+     * holding the error of every invalid element. This is best suited to validating configs, where every problem
+     * should be reported at once.
+     */
+    COLLECT_ALL,
+}
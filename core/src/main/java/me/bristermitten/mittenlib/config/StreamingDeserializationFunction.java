@@ -0,0 +1,30 @@
+package me.bristermitten.mittenlib.config;
+
+import com.google.gson.stream.JsonReader;
+import me.bristermitten.mittenlib.config.reader.ObjectMapper;
+import me.bristermitten.mittenlib.util.Result;
+
+import java.io.IOException;
+
+/**
+ * A function that deserializes a config directly from a {@link JsonReader},
+ * without first loading the whole document into a {@link me.bristermitten.mittenlib.config.tree.DataTree}.
+ * <p>
+ * These are generated for configs marked with {@link Config#streamingJson()}.
+ *
+ * @param <T> the type to deserialize to
+ * @see DeserializationFunction
+ */
+@FunctionalInterface
+public interface StreamingDeserializationFunction<T> {
+    /**
+     * Deserialize the next value in the given reader.
+     *
+     * @param reader    the reader to read from, positioned at the value to deserialize
+     * @param mapper    the mapper to use for any values that cannot be read directly
+     * @param errorMode how deserialization errors should be handled
+     * @return the result of deserialization
+     * @throws IOException if the reader fails or the JSON is malformed
+     */
+    Result<T> deserialize(JsonReader reader, ObjectMapper mapper, DeserializationErrorMode errorMode) throws IOException;
+}
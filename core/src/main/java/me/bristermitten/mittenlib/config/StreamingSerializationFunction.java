@@ -0,0 +1,28 @@
+package me.bristermitten.mittenlib.config;
+
+import com.google.gson.stream.JsonWriter;
+import me.bristermitten.mittenlib.config.reader.ObjectMapper;
+
+import java.io.IOException;
+
+/**
+ * A function that serializes a config directly to a {@link JsonWriter},
+ * without first building a {@link me.bristermitten.mittenlib.config.tree.DataTree}.
+ * <p>
+ * These are generated for configs marked with {@link Config#streamingJson()} that also support serialization.
+ *
+ * @param <T> the type to serialize from
+ * @see SerializationFunction
+ */
+@FunctionalInterface
+public interface StreamingSerializationFunction<T> {
+    /**
+     * Serialize a value as the next value in the given writer.
+     *
+     * @param value  the value to serialize
+     * @param writer the writer to write to
+     * @param mapper the mapper to use for any values that cannot be written directly
+     * @throws IOException if the writer fails
+     */
+    void serialize(T value, JsonWriter writer, ObjectMapper mapper) throws IOException;
+}
@@ -1,4 +1,18 @@
 package me.bristermitten.mittenlib.config.exception;
 
+/**
+ * Base class for errors caused by invalid config data.
+ * <p>
+ * These are expected whenever a config is edited incorrectly, so they don't capture a stack trace.
+ * It would only ever point at generated deserialization code, and filling it in dominates the cost of
+ * deserializing large collections with many invalid values.
+ */
 public class ConfigDeserialisationException extends RuntimeException {
+    public ConfigDeserialisationException() {
+        super(null, null, true, false);
+    }
+
+    protected ConfigDeserialisationException(String message) {
+        super(message, null, true, false);
+    }
 }
@@ -16,9 +16,7 @@ public class ConfigLoadingErrors {
 
 
     public static RuntimeException invalidPropertyTypeException(Class<?> enclosingClass, String propertyName, String expectedType, Object actualValue) {
-        return new IllegalArgumentException(
-                "Invalid value for property " + enclosingClass.getSimpleName() + "." + propertyName + ", expected value of type " + expectedType + " but got value " + actualValue + " of type " + actualValue.getClass()
-        );
+        return new InvalidPropertyTypeException(enclosingClass, propertyName, expectedType, actualValue);
     }
 
     public static RuntimeException noUnionMatch() {
@@ -0,0 +1,7 @@
+package me.bristermitten.mittenlib.config.exception;
+
+public class InvalidPropertyTypeException extends ConfigDeserialisationException {
+    public InvalidPropertyTypeException(Class<?> configClass, String propertyName, String expectedType, Object actualValue) {
+        super("Invalid value for property " + configClass.getSimpleName() + "." + propertyName + ", expected value of type " + expectedType + " but got value " + actualValue + " of type " + actualValue.getClass());
+    }
+}
@@ -2,18 +2,30 @@ package me.bristermitten.mittenlib.config.names;
 
 import me.bristermitten.mittenlib.util.Strings;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 
-import java.util.Arrays;
-import java.util.function.UnaryOperator;
-import java.util.regex.Pattern;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Transforms strings into different formats based on a {@link NamingPatterns}
+ * <p>
+ * Generated config code has its keys resolved at compile time, so this is mostly used by runtime callers
+ * such as dynamic map keys. As these tend to see the same handful of names repeatedly, results are cached.
  */
 public class NamingPatternTransformer {
-    // https://stackoverflow.com/questions/1097901/regular-expression-split-string-by-capital-letter-but-ignore-tla
-    private static final Pattern CAMEL_CASE_PATTERN = Pattern.compile("(?=(?<=[a-z])[A-Z]|[A-Z](?=[a-z]))");
+    /**
+     * The maximum number of names cached per pattern. Past this, names are still formatted but not cached,
+     * so that formatting an unbounded set of names can't leak memory.
+     */
+    private static final int MAX_CACHED_NAMES = 1024;
+    private static final Map<NamingPatterns, Map<String, String>> CACHE = new EnumMap<>(NamingPatterns.class);
+
+    static {
+        for (NamingPatterns pattern : NamingPatterns.values()) {
+            CACHE.put(pattern, new ConcurrentHashMap<>());
+        }
+    }
 
     private NamingPatternTransformer() {
     }
@@ -26,46 +38,86 @@ public class NamingPatternTransformer {
      * @return the formatted string
      */
     public static String format(@NotNull String input, @NotNull NamingPatterns pattern) {
-        if (pattern == NamingPatterns.DEFAULT) {
+        if (pattern == NamingPatterns.DEFAULT || input.isEmpty()) {
             return input;
         }
-        final String[] parts = CAMEL_CASE_PATTERN.split(input);
-        if (parts.length == 0) {
-            return input;
+        Map<String, String> cache = CACHE.get(pattern);
+        String cached = cache.get(input);
+        if (cached != null) {
+            return cached;
+        }
+        String formatted = transform(input, pattern);
+        if (cache.size() < MAX_CACHED_NAMES) {
+            cache.put(input, formatted);
         }
+        return formatted;
+    }
 
-        String camelCaseFormat = camelCaseFormat(pattern, parts);
-        if (camelCaseFormat != null) return camelCaseFormat;
-        final String separator;
-        final UnaryOperator<String> transformer;
-        if (pattern == NamingPatterns.LOWER_KEBAB_CASE || pattern == NamingPatterns.UPPER_KEBAB_CASE) {
-            separator = "-";
-            transformer = pattern == NamingPatterns.LOWER_KEBAB_CASE ? String::toLowerCase : Strings::capitalize;
-        } else if (pattern == NamingPatterns.LOWER_SNAKE_CASE || pattern == NamingPatterns.UPPER_SNAKE_CASE) {
-            separator = "_";
-            transformer = pattern == NamingPatterns.LOWER_SNAKE_CASE ? String::toLowerCase : Strings::capitalize;
-        } else {
-            throw new IllegalStateException("what");
+    /**
+     * Whether a new word starts at the given index.
+     * Words start at an upper case letter that either follows a lower case letter, or is followed by one,
+     * so "someXMLValue" is split into "some", "XML" and "Value".
+     */
+    private static boolean isWordStart(String input, int index) {
+        if (!isUpperCase(input.charAt(index))) {
+            return false;
         }
+        return isLowerCase(input.charAt(index - 1))
+               || (index + 1 < input.length() && isLowerCase(input.charAt(index + 1)));
+    }
 
+    private static boolean isUpperCase(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
 
-        return Strings.joinWith(
-                Arrays.asList(parts),
-                transformer::apply,
-                separator);
+    private static boolean isLowerCase(char c) {
+        return c >= 'a' && c <= 'z';
     }
 
-    @Nullable
-    private static String camelCaseFormat(@NotNull NamingPatterns pattern, String[] parts) {
-        if (pattern != NamingPatterns.LOWER_CAMEL_CASE && pattern != NamingPatterns.UPPER_CAMEL_CASE) {
-            return null;
+    private static String transform(String input, NamingPatterns pattern) {
+        final String separator;
+        switch (pattern) {
+            case LOWER_CAMEL_CASE:
+            case UPPER_CAMEL_CASE:
+                separator = "";
+                break;
+            case LOWER_KEBAB_CASE:
+            case UPPER_KEBAB_CASE:
+                separator = "-";
+                break;
+            case LOWER_SNAKE_CASE:
+            case UPPER_SNAKE_CASE:
+                separator = "_";
+                break;
+            default:
+                throw new IllegalStateException("Unknown naming pattern " + pattern);
         }
-        for (int i = 0; i < parts.length; i++) {
-            parts[i] = Strings.capitalize(parts[i]);
+
+        StringBuilder builder = new StringBuilder(input.length() + 8);
+        int wordStart = 0;
+        for (int i = 1; i <= input.length(); i++) {
+            if (i != input.length() && !isWordStart(input, i)) {
+                continue;
+            }
+            String word = input.substring(wordStart, i);
+            if (wordStart != 0) {
+                builder.append(separator);
+            }
+            builder.append(transformWord(word, pattern, wordStart == 0));
+            wordStart = i;
         }
-        if (pattern == NamingPatterns.LOWER_CAMEL_CASE) {
-            parts[0] = Strings.uncapitalize(parts[0]);
+        return builder.toString();
+    }
+
+    private static String transformWord(String word, NamingPatterns pattern, boolean firstWord) {
+        switch (pattern) {
+            case LOWER_KEBAB_CASE:
+            case LOWER_SNAKE_CASE:
+                return word.toLowerCase();
+            case LOWER_CAMEL_CASE:
+                return firstWord ? Strings.uncapitalize(Strings.capitalize(word)) : Strings.capitalize(word);
+            default:
+                return Strings.capitalize(word);
         }
-        return String.join("", parts);
     }
 }
@@ -1,19 +1,62 @@
 package me.bristermitten.mittenlib.config.provider;
 
 import me.bristermitten.mittenlib.util.Cached;
+import me.bristermitten.mittenlib.util.PathUtil;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
 
 /**
  * A ConfigProvider which caches the config to avoid repeated file reads.
+ * <p>
+ * If the delegate has a {@link #path()}, a checksum of the file's contents is recorded whenever the config is loaded,
+ * and {@link #invalidate()} only causes a reload if the contents have actually changed.
+ * If the delegate is a {@link ChecksummingConfigProvider}, the checksum is computed from the contents the config was
+ * actually loaded from. Otherwise, the file is checksummed before and after loading, and if it changed in between,
+ * the next invalidation always reloads.
+ * <p>
+ * By default, invalidating the config means it is reloaded by the next call to {@link #get()}.
+ * If a reload {@link Executor} is given, invalidating instead reloads the config on that executor,
+ * and {@link #get()} keeps returning the previous config until the new one has been loaded.
  *
  * @param <T> The type of the config
  */
 public class CachingConfigProvider<T> implements ConfigProvider<T>, WrappingConfigProvider<T> {
+    private static final long UNKNOWN_CHECKSUM = -1;
+    private static final Logger LOGGER = Logger.getLogger(CachingConfigProvider.class.getName());
+
     private final ConfigProvider<T> delegate;
     private final Cached<T> cached;
+    private final @Nullable Executor reloadExecutor;
+    private final List<Consumer<? super T>> reloadListeners = new CopyOnWriteArrayList<>();
+    /**
+     * Guards loading from the delegate in background mode, so that reloads can't finish out of order
+     */
+    private final Object loadLock = new Object();
+    private final Object reloadLock = new Object();
+
+    private volatile boolean stale = false;
+    private volatile long checksum = UNKNOWN_CHECKSUM;
+    private boolean loaded = false;
+    /**
+     * The current config when reloading in the background
+     */
+    private volatile @Nullable T snapshot;
+    /**
+     * A background reload that has been scheduled but not yet started, which further invalidations can join
+     */
+    private @Nullable CompletableFuture<T> queuedReload;
 
     /**
      * Create a new CachingConfigProvider, lazily computing the config.
@@ -21,22 +64,182 @@ public class CachingConfigProvider<T> implements ConfigProvider<T>, WrappingConf
      * @param delegate The delegate to use to load the config
      */
     public CachingConfigProvider(ConfigProvider<T> delegate) {
-        this.cached = new Cached<>(delegate::get);
+        this(delegate, null);
+    }
+
+    /**
+     * Create a new CachingConfigProvider.
+     *
+     * @param delegate       The delegate to use to load the config
+     * @param reloadExecutor The executor to reload the config on when it is invalidated,
+     *                       or null to lazily reload it on the next call to {@link #get()}
+     */
+    public CachingConfigProvider(ConfigProvider<T> delegate, @Nullable Executor reloadExecutor) {
+        this.cached = new Cached<>(this::load);
         this.delegate = delegate;
+        this.reloadExecutor = reloadExecutor;
+    }
+
+    private T load() {
+        T value = loadFromDelegate();
+        if (loaded) {
+            notifyReloaded(value);
+        }
+        loaded = true;
+        return value;
+    }
+
+    /**
+     * Load the config from the delegate, and record the checksum of the contents it was loaded from
+     */
+    private T loadFromDelegate() {
+        if (delegate instanceof ChecksummingConfigProvider && delegate.path().isPresent()) {
+            CRC32 crc = new CRC32();
+            T value = ((ChecksummingConfigProvider<T>) delegate).get(crc);
+            checksum = crc.getValue();
+            return value;
+        }
+        long before = computeChecksum();
+        T value = delegate.get();
+        // if the file changed while loading, we can't tell which version was loaded
+        checksum = before == computeChecksum() ? before : UNKNOWN_CHECKSUM;
+        return value;
+    }
+
+    private long computeChecksum() {
+        Optional<Path> path = delegate.path();
+        if (!path.isPresent()) {
+            return UNKNOWN_CHECKSUM;
+        }
+        try {
+            return PathUtil.checksum(path.get());
+        } catch (IOException e) {
+            // let the delegate report the error, if there is one
+            return UNKNOWN_CHECKSUM;
+        }
+    }
+
+    private void notifyReloaded(T value) {
+        for (Consumer<? super T> listener : reloadListeners) {
+            try {
+                listener.accept(value);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.SEVERE, e, () -> "Config reload listener failed for " + delegate.path().orElse(null));
+            }
+        }
     }
 
     @Override
     public T get() {
+        if (reloadExecutor != null) {
+            T current = snapshot;
+            if (current != null) {
+                return current;
+            }
+            synchronized (loadLock) {
+                if (snapshot == null) {
+                    snapshot = loadFromDelegate();
+                }
+                return snapshot;
+            }
+        }
+        if (stale) {
+            stale = false;
+            long newChecksum = computeChecksum();
+            if (newChecksum == UNKNOWN_CHECKSUM || newChecksum != checksum) {
+                cached.invalidate();
+            }
+        }
         return cached.get();
     }
 
     /**
-     * Invalidate the cached config, causing it to be recomputed on the next call to {@link #get()}.
+     * Invalidate the cached config, causing it to be reloaded.
+     * If the config is read from a file whose contents are unchanged since it was last loaded, the cached config is kept.
+     * Use {@link #clearCache()} to unconditionally reload.
+     * <p>
+     * If this provider has a reload executor, the config is reloaded in the background (see {@link #reload()}).
+     * Otherwise, it is reloaded by the next call to {@link #get()}.
      *
      * @see Cached#invalidate()
      */
     public void invalidate() {
-        cached.invalidate();
+        if (reloadExecutor != null) {
+            reload();
+            return;
+        }
+        stale = true;
+    }
+
+    /**
+     * Reload the config if its contents have changed.
+     * <p>
+     * If this provider has a reload executor, the config is loaded on it, and {@link #get()} keeps returning
+     * the previous config until the new one is ready. Reloads requested while one is already waiting to start are
+     * merged into it. If the reload fails, the previous config is kept.
+     * Otherwise, the config is reloaded immediately on the calling thread.
+     *
+     * @return a future completed with the config once it is live
+     */
+    public @NotNull CompletableFuture<T> reload() {
+        Executor executor = reloadExecutor;
+        if (executor == null) {
+            stale = true;
+            CompletableFuture<T> future = new CompletableFuture<>();
+            try {
+                future.complete(get());
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+            return future;
+        }
+        synchronized (reloadLock) {
+            CompletableFuture<T> queued = queuedReload;
+            if (queued != null) {
+                return queued;
+            }
+            CompletableFuture<T> future = new CompletableFuture<>();
+            queuedReload = future;
+            executor.execute(() -> reloadInBackground(future));
+            return future;
+        }
+    }
+
+    private void reloadInBackground(CompletableFuture<T> future) {
+        synchronized (reloadLock) {
+            // anything invalidated from here on needs another reload
+            queuedReload = null;
+        }
+        try {
+            synchronized (loadLock) {
+                long newChecksum = computeChecksum();
+                T current = snapshot;
+                if (current != null && newChecksum != UNKNOWN_CHECKSUM && newChecksum == checksum) {
+                    future.complete(current);
+                    return;
+                }
+                T value = loadFromDelegate();
+                snapshot = value;
+                if (current != null) {
+                    notifyReloaded(value);
+                }
+                future.complete(value);
+            }
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.SEVERE, e, () -> "Could not reload config " + delegate.path().orElse(null) + ", keeping the previous version");
+            future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Add a listener that is called with the new config whenever it is reloaded.
+     * The listener is not called for the initial load, or if a reload finds the contents unchanged.
+     * With a reload executor, listeners are called on the executor once the new config is live.
+     *
+     * @param listener the listener to add
+     */
+    public void addReloadListener(@NotNull Consumer<? super T> listener) {
+        reloadListeners.add(listener);
     }
 
     @Override
@@ -46,7 +249,10 @@ public class CachingConfigProvider<T> implements ConfigProvider<T>, WrappingConf
 
     @Override
     public void clearCache() {
-        invalidate();
+        stale = false;
+        checksum = UNKNOWN_CHECKSUM;
+        snapshot = null;
+        cached.invalidate();
         delegate.clearCache();
     }
 
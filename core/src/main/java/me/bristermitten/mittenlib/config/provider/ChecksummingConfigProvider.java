@@ -0,0 +1,23 @@
+package me.bristermitten.mittenlib.config.provider;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.zip.Checksum;
+
+/**
+ * A {@link ConfigProvider} that can report a checksum of exactly the file contents a config was loaded from.
+ * <p>
+ * This lets a {@link CachingConfigProvider} tell whether its config is up to date without reading the file
+ * a second time, and without the risk of the file changing between being checksummed and being loaded.
+ *
+ * @param <T> the type of the config
+ */
+public interface ChecksummingConfigProvider<T> extends ConfigProvider<T> {
+    /**
+     * Load the config, as in {@link #get()}, updating the given checksum with every byte of the file it was loaded from
+     *
+     * @param checksum the checksum to update
+     * @return the config
+     */
+    T get(@NotNull Checksum checksum);
+}
@@ -0,0 +1,103 @@
+package me.bristermitten.mittenlib.config.provider;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * A bounded cache of loaded configs, shared between many {@link EvictingConfigProvider}s.
+ * <p>
+ * Unlike {@link CachingConfigProvider}, which keeps its config until it is invalidated, configs in this cache may be
+ * evicted according to the policies of the {@link CacheBuilder} it is created with (e.g. time since last access,
+ * maximum number of configs, or soft references), and are transparently reloaded when next accessed.
+ * This is useful when there are many configs that are only occasionally used, such as per-world or per-arena configs.
+ * <p>
+ * This class is thread safe.
+ */
+public final class ConfigCache {
+    private final Cache<ConfigProvider<?>, Object> cache;
+
+    /**
+     * Create a new ConfigCache from the given builder, for example
+     * {@code new ConfigCache(CacheBuilder.newBuilder().maximumSize(100).expireAfterAccess(10, TimeUnit.MINUTES))}
+     *
+     * @param builder the builder defining the eviction policies
+     */
+    public ConfigCache(@NotNull CacheBuilder<Object, Object> builder) {
+        this.cache = builder.build();
+    }
+
+    /**
+     * Create a new ConfigCache that evicts configs that haven't been accessed for the given time, and holds at most
+     * the given number of configs, evicting the least recently used first.
+     *
+     * @param maximumSize      the maximum number of configs to hold
+     * @param expireAfterAccess how long a config can go unused before it is evicted
+     * @param unit             the unit of {@code expireAfterAccess}
+     * @return the new cache
+     */
+    public static @NotNull ConfigCache create(long maximumSize, long expireAfterAccess, @NotNull TimeUnit unit) {
+        return new ConfigCache(CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(expireAfterAccess, unit));
+    }
+
+    /**
+     * Get the config for the given provider, loading it if it is not cached.
+     * If multiple threads request the same missing config, only one of them loads it.
+     *
+     * @param provider the provider that owns the config
+     * @param loader   loads the config if it is not cached
+     * @param <T>      the type of the config
+     * @return the config
+     */
+    @SuppressWarnings("unchecked")
+    <T> @NotNull T get(@NotNull ConfigProvider<T> provider, @NotNull Supplier<T> loader) {
+        try {
+            return (T) cache.get(provider, loader::get);
+        } catch (UncheckedExecutionException | ExecutionError e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        } catch (ExecutionException e) {
+            // ConfigProvider#get can't throw checked exceptions, so this shouldn't happen
+            throw new IllegalStateException("Could not load config", e.getCause());
+        }
+    }
+
+    /**
+     * Evict the config for the given provider, causing it to be reloaded when next accessed
+     *
+     * @param provider the provider whose config should be evicted
+     */
+    public void invalidate(@NotNull ConfigProvider<?> provider) {
+        cache.invalidate(provider);
+    }
+
+    /**
+     * Evict every config in this cache
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Get the approximate number of configs currently cached
+     *
+     * @return the number of configs cached
+     */
+    public long size() {
+        return cache.size();
+    }
+}
@@ -0,0 +1,82 @@
+package me.bristermitten.mittenlib.config.provider;
+
+import me.bristermitten.mittenlib.util.MultipleFailuresException;
+import me.bristermitten.mittenlib.util.Result;
+import me.bristermitten.mittenlib.util.Unit;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Utility methods for working with many {@link ConfigProvider}s at once
+ */
+public final class ConfigProviders {
+    private ConfigProviders() {
+    }
+
+    /**
+     * Load every given provider's config in parallel on the given executor, waiting until all have finished.
+     * <p>
+     * This is only useful for providers that cache their config (such as those created by a
+     * {@link me.bristermitten.mittenlib.config.provider.construct.ConfigProviderImprover}), as it warms their caches
+     * so that later calls to {@link ConfigProvider#get()} are fast.
+     * For example, this can be used with the {@code Set<ConfigProvider<?>>} bound by
+     * {@link me.bristermitten.mittenlib.config.ConfigModule} to load every config when a plugin enables.
+     *
+     * @param providers the providers to load
+     * @param executor  the executor to load on
+     * @return a successful result once every config has loaded, or a failure with a {@link MultipleFailuresException}
+     * holding every config that failed to load
+     */
+    public static @NotNull Result<Unit> loadAll(@NotNull Collection<? extends ConfigProvider<?>> providers, @NotNull Executor executor) {
+        List<CompletableFuture<?>> futures = new ArrayList<>(providers.size());
+        for (ConfigProvider<?> provider : providers) {
+            futures.add(CompletableFuture.supplyAsync(provider::get, executor));
+        }
+
+        List<Throwable> failures = new ArrayList<>();
+        for (CompletableFuture<?> future : futures) {
+            try {
+                future.join();
+            } catch (CompletionException e) {
+                failures.add(e.getCause() == null ? e : e.getCause());
+            }
+        }
+        if (!failures.isEmpty()) {
+            return Result.fail(new MultipleFailuresException("Failed to load " + failures.size() + " config(s)", failures));
+        }
+        return Unit.unitResult();
+    }
+
+    /**
+     * Load every given provider's config in parallel, waiting until all have finished.
+     * A temporary thread pool bounded by the number of available processors is used.
+     *
+     * @param providers the providers to load
+     * @return a successful result once every config has loaded, or a failure with a {@link MultipleFailuresException}
+     * holding every config that failed to load
+     * @see #loadAll(Collection, Executor)
+     */
+    public static @NotNull Result<Unit> loadAll(@NotNull Collection<? extends ConfigProvider<?>> providers) {
+        int threads = Math.max(1, Math.min(providers.size(), Runtime.getRuntime().availableProcessors()));
+        AtomicInteger count = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "MittenLib Config Loader #" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            return loadAll(providers, executor);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
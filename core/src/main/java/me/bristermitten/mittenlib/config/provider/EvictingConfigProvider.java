@@ -0,0 +1,58 @@
+package me.bristermitten.mittenlib.config.provider;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * A ConfigProvider which caches its config in a shared, bounded {@link ConfigCache}.
+ * The config may be evicted from the cache at any time, in which case it is reloaded from the delegate
+ * on the next call to {@link #get()}.
+ *
+ * @param <T> The type of the config
+ */
+public class EvictingConfigProvider<T> implements ConfigProvider<T>, WrappingConfigProvider<T> {
+    private final ConfigProvider<T> delegate;
+    private final ConfigCache cache;
+
+    /**
+     * Create a new EvictingConfigProvider
+     *
+     * @param delegate The delegate to use to load the config
+     * @param cache    The cache to store the config in
+     */
+    public EvictingConfigProvider(ConfigProvider<T> delegate, ConfigCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public T get() {
+        return cache.get(this, delegate::get);
+    }
+
+    /**
+     * Evict the cached config, causing it to be reloaded on the next call to {@link #get()}.
+     */
+    public void invalidate() {
+        cache.invalidate(this);
+    }
+
+    @Override
+    public Optional<Path> path() {
+        return delegate.path();
+    }
+
+    @Override
+    public void clearCache() {
+        invalidate();
+        delegate.clearCache();
+    }
+
+    @Override
+    @NotNull
+    public ConfigProvider<T> getWrapped() {
+        return delegate;
+    }
+}
@@ -5,6 +5,7 @@ import me.bristermitten.mittenlib.watcher.FileWatcherService;
 import org.jetbrains.annotations.NotNull;
 
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
 
@@ -14,10 +15,15 @@ import java.util.concurrent.ExecutionException;
  * @param <T> the type of the config
  */
 public class FileWatchingConfigProvider<T> implements ConfigProvider<T>, WrappingConfigProvider<T> {
-    private final CachingConfigProvider<T> delegate;
+    /**
+     * The default time to wait for a burst of changes to a file to finish before invalidating the config
+     */
+    public static final Duration DEFAULT_DEBOUNCE = Duration.ofMillis(100);
+
+    private final ConfigProvider<T> delegate;
 
     /**
-     * Create a new FileWatchingConfigProvider
+     * Create a new FileWatchingConfigProvider, using {@link #DEFAULT_DEBOUNCE}
      *
      * @param delegate       the delegate to watch.
      *                       This must have a present {@link ConfigProvider#path()}, which indicates the file to watch.
@@ -26,6 +32,37 @@ public class FileWatchingConfigProvider<T> implements ConfigProvider<T>, Wrappin
      */
 
     public FileWatchingConfigProvider(CachingConfigProvider<T> delegate, FileWatcherService watcherService) {
+        this(delegate, watcherService, DEFAULT_DEBOUNCE);
+    }
+
+    /**
+     * Create a new FileWatchingConfigProvider
+     *
+     * @param delegate       the delegate to watch.
+     *                       This must have a present {@link ConfigProvider#path()}, which indicates the file to watch.
+     * @param watcherService the service to use to watch the file
+     * @param debounce       how long to wait for a burst of changes to finish before invalidating the config
+     * @throws IllegalArgumentException if the given {@code delegate} does not have a present {@link ConfigProvider#path()}
+     * @see FileWatcher#FileWatcher(Path, java.util.function.Consumer, Duration)
+     */
+    public FileWatchingConfigProvider(CachingConfigProvider<T> delegate, FileWatcherService watcherService, Duration debounce) {
+        this(delegate, delegate::invalidate, watcherService, debounce);
+    }
+
+    /**
+     * Create a new FileWatchingConfigProvider, evicting the config from its cache when the file changes
+     *
+     * @param delegate       the delegate to watch.
+     *                       This must have a present {@link ConfigProvider#path()}, which indicates the file to watch.
+     * @param watcherService the service to use to watch the file
+     * @param debounce       how long to wait for a burst of changes to finish before invalidating the config
+     * @throws IllegalArgumentException if the given {@code delegate} does not have a present {@link ConfigProvider#path()}
+     */
+    public FileWatchingConfigProvider(EvictingConfigProvider<T> delegate, FileWatcherService watcherService, Duration debounce) {
+        this(delegate, delegate::invalidate, watcherService, debounce);
+    }
+
+    private FileWatchingConfigProvider(ConfigProvider<T> delegate, Runnable invalidate, FileWatcherService watcherService, Duration debounce) {
         this.delegate = delegate;
         final Path path = delegate.path()
                 .orElseThrow(() -> new IllegalArgumentException("FileWatchingConfigProvider requires delegate.path() to be present"));
@@ -33,7 +70,8 @@ public class FileWatchingConfigProvider<T> implements ConfigProvider<T>, Wrappin
         try {
             watcherService.addWatcher(new FileWatcher(
                     path,
-                    pathWatchEvent -> delegate.invalidate()
+                    pathWatchEvent -> invalidate.run(),
+                    debounce
             )).get();
         } catch (InterruptedException | ExecutionException e) {
             throw new RuntimeException(e);
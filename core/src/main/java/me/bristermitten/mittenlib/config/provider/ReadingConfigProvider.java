@@ -1,29 +1,41 @@
 package me.bristermitten.mittenlib.config.provider;
 
 import me.bristermitten.mittenlib.config.Configuration;
+import me.bristermitten.mittenlib.config.SerializationFunction;
+import me.bristermitten.mittenlib.config.StreamingSerializationFunction;
 import me.bristermitten.mittenlib.config.reader.ConfigReader;
 import me.bristermitten.mittenlib.config.tree.DataTree;
 import me.bristermitten.mittenlib.config.writer.ObjectWriter;
+import me.bristermitten.mittenlib.files.MappedFile;
+import me.bristermitten.mittenlib.files.json.GsonObjectWriter;
 import me.bristermitten.mittenlib.util.Result;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.Checksum;
 
 /**
  * A {@link ConfigProvider} that reads from a file, using a {@link ConfigReader}
  *
  * @param <T> the type of the config
  */
-public class ReadingConfigProvider<T> implements ConfigProvider<T> {
+public class ReadingConfigProvider<T> implements ChecksummingConfigProvider<T> {
     private final Configuration<T> config;
     private final ConfigReader reader;
     private final Path path;
     private final ObjectWriter writer; // TODO: merge into ConfigReader?
+    private final @Nullable MappedFile mappedFile;
 
     /**
-     * Create a new ReadingConfigProvider
+     * Create a new ReadingConfigProvider, using {@link ReadMode#READER}
      *
      * @param path   the path to read from
      * @param config the configuration to read
@@ -31,15 +43,67 @@ public class ReadingConfigProvider<T> implements ConfigProvider<T> {
      * @param writer the writer to use for saving
      */
     public ReadingConfigProvider(Path path, Configuration<T> config, ConfigReader reader, ObjectWriter writer) {
+        this(path, config, reader, writer, ReadMode.READER);
+    }
+
+    /**
+     * Create a new ReadingConfigProvider
+     *
+     * @param path     the path to read from
+     * @param config   the configuration to read
+     * @param reader   the reader to use
+     * @param writer   the writer to use for saving
+     * @param readMode how the file should be read
+     */
+    public ReadingConfigProvider(Path path, Configuration<T> config, ConfigReader reader, ObjectWriter writer, ReadMode readMode) {
         this.path = path;
         this.config = config;
         this.reader = reader;
         this.writer = writer;
+        this.mappedFile = readMode == ReadMode.MEMORY_MAPPED ? new MappedFile(path) : null;
     }
 
     @Override
     public T get() {
-        return reader.load(config.getType(), path, config.getDeserializeFunction()).getOrThrow();
+        if (mappedFile != null) {
+            return mappedFile.open()
+                    .<T>flatMap(data -> Result.tryWithResources(data, d -> reader.load(config, path, d)))
+                    .getOrThrow();
+        }
+        return reader.load(config, path).getOrThrow();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * In {@link ReadMode#READER} mode, the file is read into memory once, checksummed, and loaded from those bytes.
+     * In {@link ReadMode#MEMORY_MAPPED} mode, the checksum is updated as the mapping is decoded.
+     */
+    @Override
+    public T get(@NotNull Checksum checksum) {
+        if (mappedFile != null) {
+            return mappedFile.open(checksum)
+                    .<T>flatMap(data -> Result.tryWithResources(data, d -> {
+                        Result<? extends T> loaded = reader.load(config, path, d);
+                        // loaders may stop before the end of the file, but the checksum must cover all of it
+                        return loaded.flatMap(value -> Result.runCatching(() -> {
+                            drain(d);
+                            return value;
+                        }));
+                    }))
+                    .getOrThrow();
+        }
+        byte[] contents = Result.runCatching(() -> Files.readAllBytes(path)).getOrThrow();
+        checksum.update(contents, 0, contents.length);
+        return reader.load(config, path, contents).getOrThrow();
+    }
+
+    private static void drain(Reader reader) throws IOException {
+        char[] buffer = new char[1024];
+        //noinspection StatementWithEmptyBody
+        while (reader.read(buffer) != -1) {
+            // skip the rest
+        }
     }
 
     @Override
@@ -56,6 +120,7 @@ public class ReadingConfigProvider<T> implements ConfigProvider<T> {
      * Saves the given config instance back to the file.
      * This can be used to save default values for missing fields.
      * By default, this only adds missing fields and does not override existing ones.
+     * If the file already contains every field, it is left untouched.
      *
      * @param instance the config instance to save
      * @return a Result indicating success or failure
@@ -67,64 +132,121 @@ public class ReadingConfigProvider<T> implements ConfigProvider<T> {
     /**
      * Saves the given config instance back to the file.
      * This can be used to save default values for missing fields.
+     * <p>
+     * When overwriting a JSON file, configs with a {@link StreamingSerializationFunction} are written
+     * straight to the file without building a {@link DataTree} first.
      *
      * @param instance         the config instance to save
-     * @param overrideExisting if true, overwrites the entire file; if false, only adds missing fields
+     * @param overrideExisting if true, overwrites the entire file; if false, only adds missing fields,
+     *                         and doesn't write to the file at all if there are none
      * @return a Result indicating success or failure
      */
     public Result<Void> save(T instance, boolean overrideExisting) {
-        if (config.getSerializeFunction() == null) {
+        SerializationFunction<T> serializeFunction = config.getSerializeFunction();
+        if (serializeFunction == null) {
             return Result.fail(new UnsupportedOperationException("No serialization function provided for " + config.getType()));
         }
 
-        // Get the ObjectMapper from the reader
-        DataTree serializedTree = config.getSerializeFunction().apply(instance, reader.getMapper());
-
         if (overrideExisting) {
-            return writer.write(serializedTree, path);
+            return overwrite(instance, serializeFunction);
         }
+
+        // Get the ObjectMapper from the reader
+        DataTree serializedTree = serializeFunction.apply(instance, reader.getMapper());
         // Read existing file and merge with new values
         return reader.load(DataTree.class, path, x -> Result.ok(x.getData()))
-                .map(existingTree -> mergeDataTrees(existingTree, serializedTree))
-                .flatMap(mergedTree -> writer.write(mergedTree, path))
+                .flatMap(existingTree -> {
+                    DataTree mergedTree = mergeDataTrees(existingTree, serializedTree);
+                    if (mergedTree == existingTree) {
+                        // nothing was missing, so succeed without rewriting the file (and triggering any file watchers)
+                        return Result.runCatching(() -> null);
+                    }
+                    return writer.write(mergedTree, path);
+                })
                 .flatMapException(error -> {
                     // If file doesn't exist or can't be read, just write the new config
                     return writer.write(serializedTree, path);
                 });
     }
 
+    /**
+     * Overwrites the file with the given config instance, without blocking the calling thread if the writer supports it.
+     * The config is serialized on the calling thread, and then written with {@link ObjectWriter#writeAsync(DataTree, Path)}.
+     * Use an {@link me.bristermitten.mittenlib.config.writer.AtomicObjectWriter} to write in the background.
+     *
+     * @param instance the config instance to save
+     * @return a future completed once the config has been written
+     */
+    public CompletableFuture<Void> saveAsync(T instance) {
+        SerializationFunction<T> serializeFunction = config.getSerializeFunction();
+        if (serializeFunction == null) {
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            future.completeExceptionally(new UnsupportedOperationException("No serialization function provided for " + config.getType()));
+            return future;
+        }
+        return writer.writeAsync(serializeFunction.apply(instance, reader.getMapper()), path);
+    }
+
+    private Result<Void> overwrite(T instance, SerializationFunction<T> serializeFunction) {
+        StreamingSerializationFunction<T> streamingFunction = config.getStreamingSerializeFunction();
+        if (streamingFunction != null) {
+            ObjectWriter resolved = writer.resolve(path);
+            if (resolved instanceof GsonObjectWriter) {
+                return ((GsonObjectWriter) resolved).write(instance, path, streamingFunction, reader.getMapper());
+            }
+        }
+        return writer.write(serializeFunction.apply(instance, reader.getMapper()), path);
+    }
+
     /**
      * Merges two DataTrees, with existing values taking precedence.
      * Only adds fields from newTree that don't exist in existingTree.
+     * <p>
+     * Maps are only copied when something is actually added to them, so if nothing is missing,
+     * {@code existingTree} itself is returned.
      *
      * @param existingTree the existing data tree (takes precedence)
      * @param newTree      the new data tree with default values
-     * @return the merged data tree
+     * @return the merged data tree, or {@code existingTree} if nothing was added
      */
-    private DataTree mergeDataTrees(DataTree existingTree, DataTree newTree) {
+    private static DataTree mergeDataTrees(DataTree existingTree, DataTree newTree) {
         if (!(existingTree instanceof DataTree.DataTreeMap) || !(newTree instanceof DataTree.DataTreeMap)) {
             return existingTree;
         }
 
-        DataTree.DataTreeMap existingMap = (DataTree.DataTreeMap) existingTree;
-        DataTree.DataTreeMap newMap = (DataTree.DataTreeMap) newTree;
-
-        Map<DataTree, DataTree> mergedValues = new LinkedHashMap<>(existingMap.values());
+        Map<DataTree, DataTree> existingValues = ((DataTree.DataTreeMap) existingTree).values();
+        Map<DataTree, DataTree> mergedValues = null;
 
-        for (Map.Entry<DataTree, DataTree> entry : newMap.values().entrySet()) {
+        for (Map.Entry<DataTree, DataTree> entry : ((DataTree.DataTreeMap) newTree).values().entrySet()) {
             DataTree key = entry.getKey();
-            DataTree newValue = entry.getValue();
-
-            if (!mergedValues.containsKey(key)) {
-                mergedValues.put(key, newValue);
-            } else {
-                DataTree existingValue = mergedValues.get(key);
-                DataTree mergedValue = mergeDataTrees(existingValue, newValue);
-                mergedValues.put(key, mergedValue);
+            DataTree existingValue = existingValues.get(key);
+            DataTree mergedValue = existingValue == null ? entry.getValue() : mergeDataTrees(existingValue, entry.getValue());
+            if (mergedValue == existingValue) {
+                continue;
             }
+            if (mergedValues == null) {
+                mergedValues = new LinkedHashMap<>(existingValues);
+            }
+            mergedValues.put(key, mergedValue);
         }
 
-        return new DataTree.DataTreeMap(mergedValues);
+        return mergedValues == null ? existingTree : new DataTree.DataTreeMap(mergedValues);
     }
-}
 
+    /**
+     * How a {@link ReadingConfigProvider} reads its file
+     */
+    public enum ReadMode {
+        /**
+         * Open a new {@link java.io.Reader} over the file every time it is loaded
+         */
+        READER,
+        /**
+         * Memory-map the file and decode from the mapped buffer, reusing the mapping across reloads while the
+         * file is unchanged. This is best suited to large files that are reloaded often.
+         *
+         * @see MappedFile
+         */
+        MEMORY_MAPPED
+    }
+}
@@ -19,7 +19,7 @@ public class StringReadingConfigProvider<T> implements ConfigProvider<T> {
     public StringReadingConfigProvider(String data, Configuration<T> config, ConfigReader reader) {
         this.data = data;
         this.config = config;
-        this.reader = reader;
+        this.reader = config.getErrorMode() == null ? reader : reader.withErrorMode(config.getErrorMode());
     }
 
     @Override
@@ -2,11 +2,20 @@ package me.bristermitten.mittenlib.config.provider.construct;
 
 import me.bristermitten.mittenlib.config.Configuration;
 import me.bristermitten.mittenlib.config.provider.ConfigProvider;
+import me.bristermitten.mittenlib.config.provider.ConfigProviders;
 import me.bristermitten.mittenlib.config.reader.SearchingObjectLoader;
 import me.bristermitten.mittenlib.files.FileType;
+import me.bristermitten.mittenlib.util.MultipleFailuresException;
 import me.bristermitten.mittenlib.util.Result;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
 /**
  * Creates {@link ConfigProvider}s for {@link Configuration}s
  */
@@ -54,4 +63,40 @@ public interface ConfigProviderFactory {
      * @return the created provider
      */
     @NotNull <T> Result<ConfigProvider<T>> createStringReaderProvider(FileType type, String data, Configuration<T> configuration);
+
+    /**
+     * Creates providers for all the given {@link Configuration}s, improving them with the given
+     * {@link ConfigProviderImprover}, and loads them all in parallel on the given executor.
+     * This returns once every config has been loaded.
+     * <p>
+     * The improver should cache configs (as {@link me.bristermitten.mittenlib.config.provider.construct.SimpleConfigProviderImprover} does),
+     * otherwise the loaded configs will be discarded.
+     *
+     * @param configurations the configurations to load
+     * @param improver       the improver to apply to each provider
+     * @param executor       the executor to load the configs on
+     * @return the loaded providers, in the same order as {@code configurations}, or a failure with a
+     * {@link MultipleFailuresException} holding every config that could not be created or loaded
+     * @see ConfigProviders#loadAll(Collection, Executor)
+     */
+    default @NotNull Result<Map<Configuration<?>, ConfigProvider<?>>> loadAll(@NotNull Collection<? extends Configuration<?>> configurations,
+                                                                               @NotNull ConfigProviderImprover improver,
+                                                                               @NotNull Executor executor) {
+        Map<Configuration<?>, ConfigProvider<?>> providers = new LinkedHashMap<>();
+        List<Throwable> failures = new ArrayList<>();
+        for (Configuration<?> configuration : configurations) {
+            Exception failure = createProvider(configuration).handle(provider -> {
+                providers.put(configuration, improver.improve(provider));
+                return null;
+            }, e -> e);
+            if (failure != null) {
+                failures.add(failure);
+            }
+        }
+        if (!failures.isEmpty()) {
+            return Result.fail(new MultipleFailuresException("Failed to create " + failures.size() + " config provider(s)", failures));
+        }
+        return ConfigProviders.loadAll(providers.values(), executor)
+                .map(unit -> providers);
+    }
 }
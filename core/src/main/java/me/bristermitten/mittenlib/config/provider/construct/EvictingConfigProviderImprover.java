@@ -0,0 +1,38 @@
+package me.bristermitten.mittenlib.config.provider.construct;
+
+import me.bristermitten.mittenlib.config.provider.ConfigCache;
+import me.bristermitten.mittenlib.config.provider.ConfigProvider;
+import me.bristermitten.mittenlib.config.provider.EvictingConfigProvider;
+import me.bristermitten.mittenlib.config.provider.FileWatchingConfigProvider;
+import me.bristermitten.mittenlib.watcher.FileWatcherService;
+
+import javax.inject.Inject;
+
+/**
+ * A {@link ConfigProviderImprover} that caches configs in a shared, bounded {@link ConfigCache}
+ * rather than keeping every config loaded forever.
+ * File based configs are still watched, and evicted from the cache when they change.
+ * <p>
+ * To use it, bind a {@link ConfigCache} and bind this as the {@link ConfigProviderImprover} in place of
+ * {@link SimpleConfigProviderImprover}.
+ */
+public class EvictingConfigProviderImprover implements ConfigProviderImprover {
+    private final FileWatcherService watcherService;
+    private final ConfigCache cache;
+
+    @Inject
+    public EvictingConfigProviderImprover(FileWatcherService watcherService, ConfigCache cache) {
+        this.watcherService = watcherService;
+        this.cache = cache;
+    }
+
+    @Override
+    public <T> ConfigProvider<T> improve(ConfigProvider<T> provider) {
+        final EvictingConfigProvider<T> evictingConfigProvider = new EvictingConfigProvider<>(provider, cache);
+
+        if (evictingConfigProvider.path().isPresent()) {
+            return new FileWatchingConfigProvider<>(evictingConfigProvider, watcherService, FileWatchingConfigProvider.DEFAULT_DEBOUNCE);
+        }
+        return evictingConfigProvider;
+    }
+}
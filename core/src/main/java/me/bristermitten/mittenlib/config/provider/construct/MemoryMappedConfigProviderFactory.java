@@ -0,0 +1,20 @@
+package me.bristermitten.mittenlib.config.provider.construct;
+
+import me.bristermitten.mittenlib.config.paths.ConfigInitializationStrategy;
+import me.bristermitten.mittenlib.config.paths.ConfigPathResolver;
+import me.bristermitten.mittenlib.config.provider.ReadingConfigProvider;
+import me.bristermitten.mittenlib.config.reader.ConfigReader;
+import me.bristermitten.mittenlib.config.writer.ObjectWriter;
+
+import javax.inject.Inject;
+
+/**
+ * A {@link SimpleConfigProviderFactory} that reads config files with {@link ReadingConfigProvider.ReadMode#MEMORY_MAPPED}.
+ * To use it, bind it as the {@link ConfigProviderFactory} in place of {@link SimpleConfigProviderFactory}.
+ */
+public class MemoryMappedConfigProviderFactory extends SimpleConfigProviderFactory {
+    @Inject
+    public MemoryMappedConfigProviderFactory(ConfigReader reader, ConfigInitializationStrategy initializationStrategy, ConfigPathResolver pathResolver, ObjectWriter objectWriter) {
+        super(reader, initializationStrategy, pathResolver, objectWriter, ReadingConfigProvider.ReadMode.MEMORY_MAPPED);
+    }
+}
@@ -21,13 +21,28 @@ public class SimpleConfigProviderFactory implements ConfigProviderFactory {
     private final ConfigInitializationStrategy initializationStrategy;
     private final ConfigPathResolver pathResolver;
     private final ObjectWriter objectWriter;
+    private final ReadingConfigProvider.ReadMode readMode;
 
     @Inject
     public SimpleConfigProviderFactory(ConfigReader reader, ConfigInitializationStrategy initializationStrategy, ConfigPathResolver pathResolver, ObjectWriter objectWriter) {
+        this(reader, initializationStrategy, pathResolver, objectWriter, ReadingConfigProvider.ReadMode.READER);
+    }
+
+    /**
+     * Create a new SimpleConfigProviderFactory whose file based providers use the given {@link ReadingConfigProvider.ReadMode}
+     *
+     * @param reader                 the reader to use
+     * @param initializationStrategy the strategy to initialize config files with
+     * @param pathResolver           the resolver for config file paths
+     * @param objectWriter           the writer to use for saving
+     * @param readMode               how config files should be read
+     */
+    public SimpleConfigProviderFactory(ConfigReader reader, ConfigInitializationStrategy initializationStrategy, ConfigPathResolver pathResolver, ObjectWriter objectWriter, ReadingConfigProvider.ReadMode readMode) {
         this.reader = reader;
         this.initializationStrategy = initializationStrategy;
         this.pathResolver = pathResolver;
         this.objectWriter = objectWriter;
+        this.readMode = readMode;
     }
 
     @Override
@@ -35,7 +50,7 @@ public class SimpleConfigProviderFactory implements ConfigProviderFactory {
         final Path configPath = pathResolver.getConfigPath(configuration.getFileName());
 
         return initializationStrategy.initializeConfig(configuration.getFileName())
-                .map(unit -> new ReadingConfigProvider<>(configPath, configuration, reader, objectWriter));
+                .map(unit -> new ReadingConfigProvider<>(configPath, configuration, reader, objectWriter, readMode));
 
     }
 
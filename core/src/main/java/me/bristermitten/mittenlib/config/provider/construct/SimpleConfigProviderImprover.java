@@ -4,20 +4,36 @@ import me.bristermitten.mittenlib.config.provider.CachingConfigProvider;
 import me.bristermitten.mittenlib.config.provider.ConfigProvider;
 import me.bristermitten.mittenlib.config.provider.FileWatchingConfigProvider;
 import me.bristermitten.mittenlib.watcher.FileWatcherService;
+import org.jetbrains.annotations.Nullable;
 
 import javax.inject.Inject;
+import java.util.concurrent.Executor;
 
 public class SimpleConfigProviderImprover implements ConfigProviderImprover {
     private final FileWatcherService watcherService;
+    private final @Nullable Executor reloadExecutor;
 
     @Inject
     SimpleConfigProviderImprover(FileWatcherService watcherService) {
+        this(watcherService, null);
+    }
+
+    /**
+     * Create a new SimpleConfigProviderImprover
+     *
+     * @param watcherService the service to watch config files with
+     * @param reloadExecutor the executor to reload changed configs on in the background,
+     *                       or null to reload them lazily the next time they are accessed.
+     *                       See {@link CachingConfigProvider#CachingConfigProvider(ConfigProvider, Executor)}
+     */
+    public SimpleConfigProviderImprover(FileWatcherService watcherService, @Nullable Executor reloadExecutor) {
         this.watcherService = watcherService;
+        this.reloadExecutor = reloadExecutor;
     }
 
     @Override
     public <T> ConfigProvider<T> improve(ConfigProvider<T> provider) {
-        final CachingConfigProvider<T> cachingConfigProvider = new CachingConfigProvider<>(provider);
+        final CachingConfigProvider<T> cachingConfigProvider = new CachingConfigProvider<>(provider, reloadExecutor);
         // Always apply caching
 
         if (cachingConfigProvider.path().isPresent()) {
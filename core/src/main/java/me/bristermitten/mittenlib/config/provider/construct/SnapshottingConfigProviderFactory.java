@@ -0,0 +1,44 @@
+package me.bristermitten.mittenlib.config.provider.construct;
+
+import me.bristermitten.mittenlib.config.paths.ConfigInitializationStrategy;
+import me.bristermitten.mittenlib.config.paths.ConfigPathResolver;
+import me.bristermitten.mittenlib.config.reader.ConfigReader;
+import me.bristermitten.mittenlib.config.reader.SnapshottingObjectLoader;
+import me.bristermitten.mittenlib.config.writer.ObjectWriter;
+
+import javax.inject.Inject;
+import java.nio.file.Path;
+
+/**
+ * A {@link SimpleConfigProviderFactory} whose config files are loaded through a {@link SnapshottingObjectLoader},
+ * so that configs which haven't changed since the last load (e.g. across restarts) are read from a binary snapshot
+ * rather than being parsed again.
+ * To use it, bind it as the {@link ConfigProviderFactory} in place of {@link SimpleConfigProviderFactory}.
+ * <p>
+ * Snapshots are only used for files read with {@link me.bristermitten.mittenlib.config.provider.ReadingConfigProvider.ReadMode#READER},
+ * and JSON configs that are deserialized by streaming skip them entirely.
+ */
+public class SnapshottingConfigProviderFactory extends SimpleConfigProviderFactory {
+    /**
+     * The name of the snapshot directory, resolved with the {@link ConfigPathResolver}
+     */
+    public static final String DEFAULT_SNAPSHOT_DIRECTORY = ".snapshots";
+
+    @Inject
+    public SnapshottingConfigProviderFactory(ConfigReader reader, ConfigInitializationStrategy initializationStrategy, ConfigPathResolver pathResolver, ObjectWriter objectWriter) {
+        this(reader, initializationStrategy, pathResolver, objectWriter, pathResolver.getConfigPath(DEFAULT_SNAPSHOT_DIRECTORY));
+    }
+
+    /**
+     * Create a new SnapshottingConfigProviderFactory storing snapshots in the given directory
+     *
+     * @param reader                 the reader to use
+     * @param initializationStrategy the strategy to initialize config files with
+     * @param pathResolver           the resolver for config file paths
+     * @param objectWriter           the writer to use for saving
+     * @param snapshotDirectory      the directory to store snapshots in
+     */
+    public SnapshottingConfigProviderFactory(ConfigReader reader, ConfigInitializationStrategy initializationStrategy, ConfigPathResolver pathResolver, ObjectWriter objectWriter, Path snapshotDirectory) {
+        super(reader.withLoader(new SnapshottingObjectLoader(reader.getLoader(), snapshotDirectory)), initializationStrategy, pathResolver, objectWriter);
+    }
+}
@@ -1,15 +1,23 @@
 package me.bristermitten.mittenlib.config.reader;
 
 import com.google.gson.reflect.TypeToken;
+import me.bristermitten.mittenlib.config.Configuration;
 import me.bristermitten.mittenlib.config.DeserializationContext;
+import me.bristermitten.mittenlib.config.DeserializationErrorMode;
 import me.bristermitten.mittenlib.config.DeserializationFunction;
+import me.bristermitten.mittenlib.config.StreamingDeserializationFunction;
 import me.bristermitten.mittenlib.config.tree.DataTree;
+import me.bristermitten.mittenlib.files.json.GsonObjectLoader;
 import me.bristermitten.mittenlib.util.Result;
+import me.bristermitten.mittenlib.util.lambda.SafeSupplier;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import javax.inject.Inject;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
 import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.function.Function;
 
@@ -20,11 +28,17 @@ import java.util.function.Function;
 public class ConfigReader {
     private final ObjectLoader loader;
     private final ObjectMapper mapper;
+    private final DeserializationErrorMode errorMode;
 
     @Inject
     ConfigReader(ObjectLoader loader, ObjectMapper mapper) {
+        this(loader, mapper, DeserializationErrorMode.COLLECT_ALL);
+    }
+
+    private ConfigReader(ObjectLoader loader, ObjectMapper mapper, DeserializationErrorMode errorMode) {
         this.loader = loader;
         this.mapper = mapper;
+        this.errorMode = errorMode;
     }
 
     /**
@@ -37,7 +51,74 @@ public class ConfigReader {
      * @return the result of the mapping
      */
     public <T> Result<? extends T> load(Class<T> type, Path source, @Nullable DeserializationFunction<T> deserializeFunction) {
-        return read(loader.load(source), deserializeFunction, type);
+        return read(loader.load(source), deserializeFunction, type, errorMode);
+    }
+
+    /**
+     * Read the data from the given path, and map it to the configuration's type.
+     * If the path is a JSON file and the configuration has a {@link StreamingDeserializationFunction},
+     * the file is deserialized directly from the stream, without building an intermediate {@link DataTree}.
+     *
+     * @param configuration the configuration to load
+     * @param source        the path to read from
+     * @param <T>           the type to map to
+     * @return the result of the mapping
+     */
+    public <T> Result<? extends T> load(Configuration<T> configuration, Path source) {
+        StreamingDeserializationFunction<T> streamingFunction = configuration.getStreamingDeserializeFunction();
+        if (streamingFunction != null) {
+            ObjectLoader resolved = loader.resolve(source);
+            if (resolved instanceof GsonObjectLoader) {
+                return ((GsonObjectLoader) resolved).load(source, streamingFunction, mapper, errorModeFor(configuration));
+            }
+        }
+        return read(loader.load(source), configuration.getDeserializeFunction(), configuration.getType(), errorModeFor(configuration));
+    }
+
+    /**
+     * Read the data from the given reader, and map it to the configuration's type.
+     * Unlike {@link #load(Class, Reader, DeserializationFunction)}, the loader is chosen based on the given path,
+     * as in {@link #load(Configuration, Path)}. This is useful when the file's contents are obtained in another way,
+     * such as from a {@link me.bristermitten.mittenlib.files.MappedFile}.
+     *
+     * @param configuration the configuration to load
+     * @param source        the path the data was read from
+     * @param data          the contents of the file. This is not closed.
+     * @param <T>           the type to map to
+     * @return the result of the mapping
+     */
+    public <T> Result<? extends T> load(Configuration<T> configuration, Path source, Reader data) {
+        ObjectLoader resolved = loader.resolve(source);
+        StreamingDeserializationFunction<T> streamingFunction = configuration.getStreamingDeserializeFunction();
+        if (streamingFunction != null && resolved instanceof GsonObjectLoader) {
+            return ((GsonObjectLoader) resolved).load(data, streamingFunction, mapper, errorModeFor(configuration));
+        }
+        return read(resolved.load(data), configuration.getDeserializeFunction(), configuration.getType(), errorModeFor(configuration));
+    }
+
+    /**
+     * Read the data from contents already read from the given path, and map it to the configuration's type.
+     * As in {@link #load(Configuration, Path)}, JSON files are deserialized directly from the contents
+     * if the configuration has a {@link StreamingDeserializationFunction}.
+     *
+     * @param configuration the configuration to load
+     * @param source        the path the contents were read from
+     * @param contents      the UTF-8 contents of the file
+     * @param <T>           the type to map to
+     * @return the result of the mapping
+     * @see ObjectLoader#load(Path, byte[])
+     */
+    public <T> Result<? extends T> load(Configuration<T> configuration, Path source, byte[] contents) {
+        StreamingDeserializationFunction<T> streamingFunction = configuration.getStreamingDeserializeFunction();
+        if (streamingFunction != null) {
+            ObjectLoader resolved = loader.resolve(source);
+            if (resolved instanceof GsonObjectLoader) {
+                return Result.tryWithResources(
+                        (SafeSupplier<Reader>) () -> new InputStreamReader(new ByteArrayInputStream(contents), StandardCharsets.UTF_8),
+                        data -> ((GsonObjectLoader) resolved).load(data, streamingFunction, mapper, errorModeFor(configuration)));
+            }
+        }
+        return read(loader.load(source, contents), configuration.getDeserializeFunction(), configuration.getType(), errorModeFor(configuration));
     }
 
     /**
@@ -50,7 +131,7 @@ public class ConfigReader {
      * @return the result of the mapping
      */
     public <T> Result<? extends T> load(Class<T> type, String source, @Nullable DeserializationFunction<T> deserializeFunction) {
-        return read(loader.load(source), deserializeFunction, type);
+        return read(loader.load(source), deserializeFunction, type, errorMode);
     }
 
     /**
@@ -63,17 +144,22 @@ public class ConfigReader {
      * @return the result of the mapping
      */
     public <T> Result<? extends T> load(Class<T> type, Reader source, @Nullable DeserializationFunction<T> deserializeFunction) {
-        return read(loader.load(source), deserializeFunction, type);
+        return read(loader.load(source), deserializeFunction, type, errorMode);
+    }
+
+    private DeserializationErrorMode errorModeFor(Configuration<?> configuration) {
+        DeserializationErrorMode configErrorMode = configuration.getErrorMode();
+        return configErrorMode == null ? errorMode : configErrorMode;
     }
 
-    private <T> Result<T> read(Result<@NotNull DataTree> rawData, @Nullable DeserializationFunction<T> deserializeFunction, Class<T> type) {
+    private <T> Result<T> read(Result<@NotNull DataTree> rawData, @Nullable DeserializationFunction<T> deserializeFunction, Class<T> type, DeserializationErrorMode errorMode) {
         final Function<DeserializationContext, Result<T>> mappingFunction =
                 deserializeFunction == null
                         ? ctx -> mapper.map(ctx.getData(), TypeToken.get(type))
                         : deserializeFunction;
 
         return rawData
-                .map(data -> new DeserializationContext(mapper, data))
+                .map(data -> new DeserializationContext(mapper, data, errorMode))
                 .flatMap(mappingFunction::apply);
     }
 
@@ -84,7 +170,37 @@ public class ConfigReader {
      * @return the new ConfigReader
      */
     public ConfigReader withLoader(ObjectLoader loader) {
-        return new ConfigReader(loader, mapper);
+        return new ConfigReader(loader, mapper, errorMode);
+    }
+
+    /**
+     * Create a new {@link ConfigReader} that deserializes with the given {@link DeserializationErrorMode},
+     * unless a {@link Configuration} specifies its own.
+     * By default, {@link DeserializationErrorMode#COLLECT_ALL} is used.
+     *
+     * @param errorMode the error mode to use
+     * @return the new ConfigReader
+     */
+    public ConfigReader withErrorMode(DeserializationErrorMode errorMode) {
+        return new ConfigReader(loader, mapper, errorMode);
+    }
+
+    /**
+     * Get the {@link DeserializationErrorMode} used by this reader, for configurations that don't specify their own
+     *
+     * @return the error mode
+     */
+    public DeserializationErrorMode getErrorMode() {
+        return errorMode;
+    }
+
+    /**
+     * Get the {@link ObjectLoader} used by this reader
+     *
+     * @return the object loader
+     */
+    public ObjectLoader getLoader() {
+        return loader;
     }
 
     /**
@@ -5,8 +5,11 @@ import me.bristermitten.mittenlib.util.Result;
 import me.bristermitten.mittenlib.util.lambda.SafeSupplier;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 
@@ -28,6 +31,22 @@ public interface ObjectLoader {
                 this::load);
     }
 
+    /**
+     * Loads an object from contents that have already been read from the given {@link Path}.
+     * Loaders that pick a loader per path, or key work by path, should use {@code source} as {@link #load(Path)} would.
+     * By default, the UTF-8 contents are loaded by the loader {@link #resolve(Path) resolved} for the path.
+     *
+     * @param source   the path the contents were read from
+     * @param contents the contents of the file
+     * @return the loaded object
+     */
+    @NotNull
+    default Result<@NotNull DataTree> load(@NotNull final Path source, final byte @NotNull [] contents) {
+        return Result.tryWithResources(
+                (SafeSupplier<Reader>) () -> new InputStreamReader(new ByteArrayInputStream(contents), StandardCharsets.UTF_8),
+                resolve(source)::load);
+    }
+
     /**
      * Loads an object from the given source.
      * This method should not close the given {@link Reader}, but may exhaust it.
@@ -43,4 +62,16 @@ public interface ObjectLoader {
                 (SafeSupplier<Reader>) () -> new StringReader(source),
                 this::load);
     }
+
+    /**
+     * Gets the loader that will actually be used to load the given {@link Path}.
+     * Most loaders handle every path themselves, but delegating loaders may pick a different loader per file type.
+     *
+     * @param source the path that will be loaded
+     * @return the loader that will load the path
+     */
+    @NotNull
+    default ObjectLoader resolve(@NotNull final Path source) {
+        return this;
+    }
 }
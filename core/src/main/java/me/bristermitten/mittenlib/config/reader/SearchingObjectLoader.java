@@ -35,6 +35,27 @@ public class SearchingObjectLoader implements ObjectLoader {
         return fail(new IllegalStateException("Could not find a matching file type for path " + source));
     }
 
+    @Override
+    public @NotNull Result<DataTree> load(@NotNull Path source, byte @NotNull [] contents) {
+        for (FileType fileType : loaders) {
+            if (!fileType.matches(source)) {
+                continue;
+            }
+            return fileType.loader().load(source, contents);
+        }
+        return fail(new IllegalStateException("Could not find a matching file type for path " + source));
+    }
+
+    @Override
+    public @NotNull ObjectLoader resolve(@NotNull Path source) {
+        for (FileType fileType : loaders) {
+            if (fileType.matches(source)) {
+                return fileType.loader().resolve(source);
+            }
+        }
+        return this;
+    }
+
     @Override
     public @NotNull Result<DataTree> load(@NotNull Reader source) {
         logger.warning(() -> "SearchingObjectLoader used with load(Reader). " +
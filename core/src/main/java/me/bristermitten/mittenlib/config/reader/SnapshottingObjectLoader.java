@@ -0,0 +1,204 @@
+package me.bristermitten.mittenlib.config.reader;
+
+import me.bristermitten.mittenlib.config.tree.DataTree;
+import me.bristermitten.mittenlib.config.tree.DataTreeBinaryFormat;
+import me.bristermitten.mittenlib.util.PathUtil;
+import me.bristermitten.mittenlib.util.Result;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * An {@link ObjectLoader} that keeps a binary snapshot of every file it loads (see {@link DataTreeBinaryFormat}),
+ * so that files which haven't changed since they were last loaded, for example across server restarts,
+ * don't need to be parsed again.
+ * <p>
+ * Each snapshot records the path of its source file and a SHA-256 hash of the file's contents.
+ * When loading a file, its contents are hashed and the snapshot is only used if the hashes match.
+ * The encoded tree is stored with its length and a CRC-32 checksum, so truncated or corrupted snapshots are
+ * detected before they are decoded.
+ * Otherwise, the file is parsed by the delegate loader as normal, and the snapshot is rewritten.
+ * Snapshots that can't be read or written are ignored, so deleting the snapshot directory is always safe.
+ * <p>
+ * Only {@link #load(Path)} and {@link #load(Path, byte[])} use snapshots. Loading from a {@link Reader} or {@link String}
+ * always goes straight to the delegate, as there is no file to key the snapshot by.
+ */
+public class SnapshottingObjectLoader implements ObjectLoader {
+    private static final Logger LOGGER = Logger.getLogger(SnapshottingObjectLoader.class.getName());
+    private static final int MAGIC = 0x4D4C5354; // MLST
+    /**
+     * Incremented whenever the snapshot or {@link DataTreeBinaryFormat} encoding changes
+     */
+    private static final int VERSION = 2;
+    private static final String SNAPSHOT_EXTENSION = ".snapshot";
+
+    private final ObjectLoader delegate;
+    private final Path snapshotDirectory;
+
+    /**
+     * Create a new SnapshottingObjectLoader
+     *
+     * @param delegate          the loader to parse files with when there is no up-to-date snapshot
+     * @param snapshotDirectory the directory to store snapshots in. It is created when the first snapshot is written.
+     */
+    public SnapshottingObjectLoader(@NotNull ObjectLoader delegate, @NotNull Path snapshotDirectory) {
+        this.delegate = delegate;
+        this.snapshotDirectory = snapshotDirectory;
+    }
+
+    private static byte[] sha256(byte[] data) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(data);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required to be supported", e);
+        }
+    }
+
+    private static long crc32(byte[] data) {
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length);
+        return crc.getValue();
+    }
+
+    @Override
+    public @NotNull Result<@NotNull DataTree> load(@NotNull Path source) {
+        return Result.runCatching(() -> Files.readAllBytes(source))
+                .flatMap(contents -> load(source, contents));
+    }
+
+    @Override
+    public @NotNull Result<@NotNull DataTree> load(@NotNull Path source, byte @NotNull [] contents) {
+        Path absoluteSource = source.toAbsolutePath().normalize();
+        Path snapshot = snapshotPath(absoluteSource);
+        byte[] hash = sha256(contents);
+
+        DataTree cached = readSnapshot(snapshot, absoluteSource, hash);
+        if (cached != null) {
+            return Result.ok(cached);
+        }
+
+        Result<DataTree> parsed = delegate.load(source, contents);
+        if (parsed.isSuccess()) {
+            writeSnapshot(snapshot, absoluteSource, hash, parsed.getOrThrow());
+        }
+        return parsed;
+    }
+
+    private Path snapshotPath(Path absoluteSource) {
+        Path fileName = absoluteSource.getFileName();
+        String name = fileName == null ? "root" : fileName.toString();
+        // files with the same name in different directories get different snapshots
+        return snapshotDirectory.resolve(name + "-" + Integer.toHexString(absoluteSource.toString().hashCode()) + SNAPSHOT_EXTENSION);
+    }
+
+    private @Nullable DataTree readSnapshot(Path snapshot, Path absoluteSource, byte[] hash) {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshot)))) {
+            long size = Files.size(snapshot);
+            if (input.readInt() != MAGIC || input.readInt() != VERSION || !input.readUTF().equals(absoluteSource.toString())) {
+                return null;
+            }
+            byte[] snapshotHash = new byte[hash.length];
+            input.readFully(snapshotHash);
+            if (!Arrays.equals(hash, snapshotHash)) {
+                return null; // the file has changed
+            }
+            int length = input.readInt();
+            long checksum = input.readLong();
+            // the header has been read, so the payload can be no longer than the rest of the file
+            if (length < 0 || length > size) {
+                throw new IOException("Invalid snapshot length " + length);
+            }
+            byte[] payload = new byte[length];
+            input.readFully(payload);
+            if (crc32(payload) != checksum) {
+                throw new IOException("Snapshot checksum mismatch");
+            }
+            return DataTreeBinaryFormat.read(new DataInputStream(new ByteArrayInputStream(payload)), length);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.FINE, e, () -> "Ignoring unreadable config snapshot " + snapshot);
+            return null;
+        }
+    }
+
+    private void writeSnapshot(Path snapshot, Path absoluteSource, byte[] hash, DataTree tree) {
+        Path temp = null;
+        try {
+            ByteArrayOutputStream payload = new ByteArrayOutputStream();
+            try (DataOutputStream payloadOutput = new DataOutputStream(payload)) {
+                DataTreeBinaryFormat.write(tree, payloadOutput);
+            }
+            byte[] payloadBytes = payload.toByteArray();
+
+            Files.createDirectories(snapshotDirectory);
+            temp = Files.createTempFile(snapshotDirectory, snapshot.getFileName().toString(), ".tmp");
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                output.writeInt(MAGIC);
+                output.writeInt(VERSION);
+                output.writeUTF(absoluteSource.toString());
+                output.write(hash);
+                output.writeInt(payloadBytes.length);
+                output.writeLong(crc32(payloadBytes));
+                output.write(payloadBytes);
+            }
+            PathUtil.moveAtomically(temp, snapshot);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, e, () -> "Could not write config snapshot " + snapshot);
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                    // nothing more we can do
+                }
+            }
+        }
+    }
+
+    @Override
+    public @NotNull Result<@NotNull DataTree> load(@NotNull Reader source) {
+        return delegate.load(source);
+    }
+
+    @Override
+    public @NotNull Result<@NotNull DataTree> load(@NotNull String source) {
+        return delegate.load(source);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This returns the delegate's loader, so that loaders with a faster path of their own
+     * (such as streaming JSON deserialization) can still be used.
+     */
+    @Override
+    public @NotNull ObjectLoader resolve(@NotNull Path source) {
+        return delegate.resolve(source);
+    }
+
+    /**
+     * Get the directory snapshots are stored in
+     *
+     * @return the snapshot directory
+     */
+    public @NotNull Path getSnapshotDirectory() {
+        return snapshotDirectory;
+    }
+}
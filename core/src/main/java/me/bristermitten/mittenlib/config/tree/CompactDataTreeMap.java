@@ -0,0 +1,315 @@
+package me.bristermitten.mittenlib.config.tree;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * A memory-efficient, insertion-ordered {@link Map} used as the backing map of {@link DataTree.DataTreeMap}s
+ * produced by the loaders.
+ * <p>
+ * Entries are stored in parallel key / value arrays rather than one entry object per key.
+ * Most config objects only have a handful of keys, so up to {@link #LINEAR_THRESHOLD} entries lookups simply
+ * scan the keys. Above that, an open-addressing index into the arrays is built so lookups stay constant time.
+ * <p>
+ * This class is not thread safe. Like {@link java.util.HashMap}, its iterators fail fast with a
+ * {@link ConcurrentModificationException} if the map is structurally modified other than through the iterator.
+ */
+@NullMarked
+public final class CompactDataTreeMap extends AbstractMap<DataTree, DataTree> {
+    /**
+     * The maximum number of entries that will be looked up with a linear scan
+     */
+    static final int LINEAR_THRESHOLD = 8;
+    private static final DataTree[] EMPTY = new DataTree[0];
+
+    private DataTree[] keys;
+    private DataTree[] values;
+    private int size;
+    /**
+     * Open-addressing table of (position in {@link #keys} + 1), where 0 is an empty slot.
+     * Only present when there are more than {@link #LINEAR_THRESHOLD} entries.
+     */
+    private int @Nullable [] index;
+    /**
+     * The number of structural modifications, so that iterators can detect concurrent modification
+     */
+    private int modCount;
+
+    /**
+     * Create a new, empty CompactDataTreeMap
+     */
+    public CompactDataTreeMap() {
+        this.keys = EMPTY;
+        this.values = EMPTY;
+    }
+
+    /**
+     * Create a new, empty CompactDataTreeMap with room for the given number of entries
+     *
+     * @param expectedSize the number of entries expected
+     */
+    public CompactDataTreeMap(int expectedSize) {
+        this.keys = expectedSize == 0 ? EMPTY : new DataTree[expectedSize];
+        this.values = expectedSize == 0 ? EMPTY : new DataTree[expectedSize];
+    }
+
+    private static int hash(@Nullable Object key) {
+        int h = key == null ? 0 : key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private int indexOf(@Nullable Object key) {
+        int[] table = index;
+        if (table == null) {
+            for (int i = 0; i < size; i++) {
+                if (Objects.equals(keys[i], key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        int mask = table.length - 1;
+        for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+            int position = table[slot];
+            if (position == 0) {
+                return -1;
+            }
+            if (Objects.equals(keys[position - 1], key)) {
+                return position - 1;
+            }
+        }
+    }
+
+    private void rebuildIndex() {
+        if (size <= LINEAR_THRESHOLD) {
+            index = null;
+            return;
+        }
+        // keep the load factor at or below 0.5
+        int[] table = new int[Integer.highestOneBit(size * 4 - 1)];
+        for (int i = 0; i < size; i++) {
+            insertIntoIndex(table, i);
+        }
+        index = table;
+    }
+
+    /**
+     * Remove the entry at the given position from the index using backward-shift deletion,
+     * so that no tombstones are needed and no keys outside its cluster are rehashed.
+     * Positions after it are then renumbered, as the arrays are about to be shifted down.
+     */
+    private void removeFromIndex(int[] table, int position) {
+        int mask = table.length - 1;
+        int gap = hash(keys[position]) & mask;
+        while (table[gap] != position + 1) {
+            gap = (gap + 1) & mask;
+        }
+        for (int slot = (gap + 1) & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+            int home = hash(keys[table[slot] - 1]) & mask;
+            // the entry can move back into the gap if the gap lies between its home slot and its current slot
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                table[gap] = table[slot];
+                gap = slot;
+            }
+        }
+        table[gap] = 0;
+        if (position == size - 1) {
+            return; // nothing after it to renumber
+        }
+        // the table is at most four times the size of the map, so this is linear like shifting the arrays,
+        // and no keys need rehashing
+        for (int slot = 0; slot < table.length; slot++) {
+            if (table[slot] > position + 1) {
+                table[slot]--;
+            }
+        }
+    }
+
+    private void insertIntoIndex(int[] table, int position) {
+        int mask = table.length - 1;
+        int slot = hash(keys[position]) & mask;
+        while (table[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = position + 1;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(@Nullable Object key) {
+        return indexOf(key) != -1;
+    }
+
+    @Override
+    public @Nullable DataTree get(@Nullable Object key) {
+        int i = indexOf(key);
+        return i == -1 ? null : values[i];
+    }
+
+    @Override
+    public @Nullable DataTree put(DataTree key, DataTree value) {
+        int i = indexOf(key);
+        if (i != -1) {
+            DataTree old = values[i];
+            values[i] = value;
+            return old;
+        }
+        if (size == keys.length) {
+            int newLength = Math.max(4, size * 2);
+            keys = Arrays.copyOf(keys, newLength);
+            values = Arrays.copyOf(values, newLength);
+        }
+        keys[size] = key;
+        values[size] = value;
+        size++;
+        modCount++;
+
+        int[] table = index;
+        if (table != null && size * 2 <= table.length) {
+            insertIntoIndex(table, size - 1);
+        } else if (size > LINEAR_THRESHOLD) {
+            rebuildIndex();
+        }
+        return null;
+    }
+
+    @Override
+    public @Nullable DataTree remove(@Nullable Object key) {
+        int i = indexOf(key);
+        if (i == -1) {
+            return null;
+        }
+        DataTree old = values[i];
+        removeAt(i);
+        return old;
+    }
+
+    private void removeAt(int i) {
+        int[] table = index;
+        if (table != null) {
+            if (size - 1 <= LINEAR_THRESHOLD) {
+                index = null;
+            } else {
+                removeFromIndex(table, i);
+            }
+        }
+        int moved = size - i - 1;
+        System.arraycopy(keys, i + 1, keys, i, moved);
+        System.arraycopy(values, i + 1, values, i, moved);
+        size--;
+        keys[size] = null;
+        values[size] = null;
+        modCount++;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(keys, 0, size, null);
+        Arrays.fill(values, 0, size, null);
+        size = 0;
+        index = null;
+        modCount++;
+    }
+
+    @Override
+    public Set<Entry<DataTree, DataTree>> entrySet() {
+        return new EntrySet();
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<DataTree, DataTree>> {
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterator<Entry<DataTree, DataTree>> iterator() {
+            return new Iterator<Entry<DataTree, DataTree>>() {
+                private int next = 0;
+                private int last = -1;
+                private int expectedModCount = modCount;
+
+                @Override
+                public boolean hasNext() {
+                    return next < size;
+                }
+
+                @Override
+                public Entry<DataTree, DataTree> next() {
+                    checkForComodification();
+                    if (next >= size) {
+                        throw new NoSuchElementException();
+                    }
+                    last = next++;
+                    return new CompactEntry(last);
+                }
+
+                @Override
+                public void remove() {
+                    if (last == -1) {
+                        throw new IllegalStateException();
+                    }
+                    checkForComodification();
+                    removeAt(last);
+                    next = last;
+                    last = -1;
+                    expectedModCount = modCount;
+                }
+
+                private void checkForComodification() {
+                    if (modCount != expectedModCount) {
+                        throw new ConcurrentModificationException();
+                    }
+                }
+            };
+        }
+    }
+
+    private final class CompactEntry implements Entry<DataTree, DataTree> {
+        private final int position;
+
+        private CompactEntry(int position) {
+            this.position = position;
+        }
+
+        @Override
+        public DataTree getKey() {
+            return keys[position];
+        }
+
+        @Override
+        public DataTree getValue() {
+            return values[position];
+        }
+
+        @Override
+        public DataTree setValue(DataTree value) {
+            DataTree old = values[position];
+            values[position] = value;
+            return old;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object o) {
+            if (!(o instanceof Entry)) return false;
+            Entry<?, ?> that = (Entry<?, ?>) o;
+            return Objects.equals(getKey(), that.getKey()) && Objects.equals(getValue(), that.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(getKey()) ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+}
@@ -15,6 +15,9 @@ import java.util.Objects;
 @NullMarked
 public abstract class DataTree {
 
+    private static final long INT_CACHE_LOW = -128;
+    private static final long INT_CACHE_HIGH = 1024;
+
     private DataTree() {
 
     }
@@ -25,7 +28,28 @@ public abstract class DataTree {
         return new DataTreeLiteral.DataTreeLiteralString(value);
     }
 
+    /**
+     * Create a key for use with {@link #get(DataTreeLiteral.DataTreeLiteralString)}.
+     * Keys are intended to be created once and stored in a constant, so that lookups don't allocate.
+     *
+     * @param key the key
+     * @return a string literal for the key
+     */
+    public static DataTreeLiteral.DataTreeLiteralString key(String key) {
+        return new DataTreeLiteral.DataTreeLiteralString(key);
+    }
+
+    /**
+     * Get a DataTree for the given integer.
+     * Small values, which are very common in configs, are cached.
+     *
+     * @param value the value
+     * @return a DataTree holding the value
+     */
     public static DataTreeLiteral.DataTreeLiteralInt integer(long value) {
+        if (value >= INT_CACHE_LOW && value <= INT_CACHE_HIGH) {
+            return DataTreeLiteral.DataTreeLiteralInt.CACHE[(int) (value - INT_CACHE_LOW)];
+        }
         return new DataTreeLiteral.DataTreeLiteralInt(value);
     }
 
@@ -34,7 +58,7 @@ public abstract class DataTree {
     }
 
     public static DataTreeLiteral.DataTreeLiteralBoolean bool(boolean value) {
-        return new DataTreeLiteral.DataTreeLiteralBoolean(value);
+        return value ? DataTreeLiteral.DataTreeLiteralBoolean.TRUE : DataTreeLiteral.DataTreeLiteralBoolean.FALSE;
     }
 
     public static DataTreeNull null_() {
@@ -52,10 +76,52 @@ public abstract class DataTree {
 
     public abstract @Nullable Object value();
 
+    /**
+     * Get the value of this tree as a primitive long, without boxing.
+     *
+     * @return the value
+     * @throws UnsupportedOperationException if this is not an integer literal
+     */
+    public long asLong() {
+        throw new UnsupportedOperationException("Not an integer: " + this);
+    }
+
+    /**
+     * Get the value of this tree as a primitive double, without boxing.
+     * Integer literals are widened.
+     *
+     * @return the value
+     * @throws UnsupportedOperationException if this is not a numeric literal
+     */
+    public double asDouble() {
+        throw new UnsupportedOperationException("Not a number: " + this);
+    }
+
+    /**
+     * Get the value of this tree as a primitive boolean, without boxing.
+     *
+     * @return the value
+     * @throws UnsupportedOperationException if this is not a boolean literal
+     */
+    public boolean asBoolean() {
+        throw new UnsupportedOperationException("Not a boolean: " + this);
+    }
+
     public @Nullable DataTree get(String key) {
         return null; // not an object
     }
 
+    /**
+     * Look up a value using a pre-built key, usually created with {@link #key(String)}.
+     * Unlike {@link #get(String)}, this does not allocate.
+     *
+     * @param key the key to look up
+     * @return the value, or null if not present or this is not a map
+     */
+    public @Nullable DataTree get(DataTreeLiteral.DataTreeLiteralString key) {
+        return null; // not an object
+    }
+
     @Contract("_, !null -> !null; _ , _-> _")
     public @Nullable Object getOrDefault(String key, @Nullable Object defaultValue) {
         DataTree get = this.get(key);
@@ -65,6 +131,15 @@ public abstract class DataTree {
         return get;
     }
 
+    @Contract("_, !null -> !null; _ , _-> _")
+    public @Nullable Object getOrDefault(DataTreeLiteral.DataTreeLiteralString key, @Nullable Object defaultValue) {
+        DataTree get = this.get(key);
+        if (get == null) {
+            return defaultValue;
+        }
+        return get;
+    }
+
     public static class DataTreeNull extends DataTree {
         public static final DataTreeNull INSTANCE = new DataTreeNull();
 
@@ -98,6 +173,14 @@ public abstract class DataTree {
         public abstract Object value();
 
         public static class DataTreeLiteralInt extends DataTreeLiteral {
+            static final DataTreeLiteralInt[] CACHE = new DataTreeLiteralInt[(int) (INT_CACHE_HIGH - INT_CACHE_LOW + 1)];
+
+            static {
+                for (int i = 0; i < CACHE.length; i++) {
+                    CACHE[i] = new DataTreeLiteralInt(i + INT_CACHE_LOW);
+                }
+            }
+
             public final long value;
 
             public DataTreeLiteralInt(long value) {
@@ -120,6 +203,16 @@ public abstract class DataTree {
             public Long value() {
                 return value;
             }
+
+            @Override
+            public long asLong() {
+                return value;
+            }
+
+            @Override
+            public double asDouble() {
+                return value;
+            }
         }
 
         public static class DataTreeLiteralFloat extends DataTreeLiteral {
@@ -145,25 +238,34 @@ public abstract class DataTree {
             public Double value() {
                 return value;
             }
+
+            @Override
+            public double asDouble() {
+                return value;
+            }
         }
 
         public static class DataTreeLiteralString extends DataTreeLiteral {
             public final String value;
+            // strings are the most common map keys, so computing this once makes lookups cheaper
+            private final int hash;
 
             public DataTreeLiteralString(String value) {
                 this.value = value;
+                this.hash = Objects.hashCode(value);
             }
 
             @Override
             public boolean equals(Object o) {
+                if (this == o) return true;
                 if (!(o instanceof DataTreeLiteralString)) return false;
                 DataTreeLiteralString that = (DataTreeLiteralString) o;
-                return Objects.equals(value, that.value);
+                return hash == that.hash && Objects.equals(value, that.value);
             }
 
             @Override
             public int hashCode() {
-                return Objects.hashCode(value);
+                return hash;
             }
 
             @Override
@@ -173,6 +275,9 @@ public abstract class DataTree {
         }
 
         public static class DataTreeLiteralBoolean extends DataTreeLiteral {
+            static final DataTreeLiteralBoolean TRUE = new DataTreeLiteralBoolean(true);
+            static final DataTreeLiteralBoolean FALSE = new DataTreeLiteralBoolean(false);
+
             public final boolean value;
 
             public DataTreeLiteralBoolean(boolean value) {
@@ -195,6 +300,11 @@ public abstract class DataTree {
             public Boolean value() {
                 return value;
             }
+
+            @Override
+            public boolean asBoolean() {
+                return value;
+            }
         }
     }
 
@@ -248,6 +358,11 @@ public abstract class DataTree {
             return values.get(new DataTreeLiteral.DataTreeLiteralString(key));
         }
 
+        @Override
+        public @Nullable DataTree get(DataTreeLiteral.DataTreeLiteralString key) {
+            return values.get(key);
+        }
+
         @Override
         public boolean equals(Object o) {
             if (!(o instanceof DataTreeMap)) return false;
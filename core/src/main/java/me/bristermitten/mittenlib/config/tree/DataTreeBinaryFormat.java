@@ -0,0 +1,240 @@
+package me.bristermitten.mittenlib.config.tree;
+
+import org.jspecify.annotations.NullMarked;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A compact binary encoding of {@link DataTree}s, which is much faster to decode than parsing the text format
+ * the tree was originally read from.
+ * <p>
+ * Integers and lengths are written as variable-length integers, and each distinct string is only written once,
+ * with later occurrences (such as the keys of a list of similar objects) referring back to the first.
+ * <p>
+ * The encoding has no header, versioning or checksum of its own. Callers storing trees should record a version
+ * and a checksum alongside them, and discard trees written by a different version or that fail the checksum.
+ * Reading is bounded by the length of the encoded tree, so lengths in corrupt input fail with an {@link IOException}
+ * rather than allocating more than the input could hold.
+ */
+@NullMarked
+public final class DataTreeBinaryFormat {
+    private static final int TAG_NULL = 0;
+    private static final int TAG_TRUE = 1;
+    private static final int TAG_FALSE = 2;
+    private static final int TAG_INT = 3;
+    private static final int TAG_FLOAT = 4;
+    private static final int TAG_STRING = 5;
+    private static final int TAG_STRING_REF = 6;
+    private static final int TAG_ARRAY = 7;
+    private static final int TAG_MAP = 8;
+
+    private DataTreeBinaryFormat() {
+    }
+
+    /**
+     * Write a tree to the given output
+     *
+     * @param tree   the tree to write
+     * @param output the output to write to
+     * @throws IOException if writing fails
+     */
+    public static void write(DataTree tree, DataOutput output) throws IOException {
+        new Writer(output).write(tree);
+    }
+
+    /**
+     * Read a tree previously written by {@link #write(DataTree, DataOutput)}
+     *
+     * @param input  the input to read from
+     * @param length the number of bytes the tree was written as. No more than this many bytes are read.
+     * @return the tree
+     * @throws IOException if reading fails, or the input is not a valid tree
+     */
+    public static DataTree read(DataInput input, long length) throws IOException {
+        return new Reader(input, length).read();
+    }
+
+    private static final class Writer {
+        private final DataOutput output;
+        private final Map<String, Integer> strings = new HashMap<>();
+
+        private Writer(DataOutput output) {
+            this.output = output;
+        }
+
+        private void write(DataTree tree) throws IOException {
+            if (tree instanceof DataTree.DataTreeMap) {
+                Map<DataTree, DataTree> values = ((DataTree.DataTreeMap) tree).values();
+                output.writeByte(TAG_MAP);
+                writeVarInt(values.size());
+                for (Map.Entry<DataTree, DataTree> entry : values.entrySet()) {
+                    write(entry.getKey());
+                    write(entry.getValue());
+                }
+            } else if (tree instanceof DataTree.DataTreeArray) {
+                DataTree[] values = ((DataTree.DataTreeArray) tree).values;
+                output.writeByte(TAG_ARRAY);
+                writeVarInt(values.length);
+                for (DataTree value : values) {
+                    write(value);
+                }
+            } else if (tree instanceof DataTree.DataTreeLiteral.DataTreeLiteralString) {
+                writeString(((DataTree.DataTreeLiteral.DataTreeLiteralString) tree).value);
+            } else if (tree instanceof DataTree.DataTreeLiteral.DataTreeLiteralInt) {
+                long value = tree.asLong();
+                output.writeByte(TAG_INT);
+                writeVarLong((value << 1) ^ (value >> 63)); // zigzag, so small negative numbers stay small
+            } else if (tree instanceof DataTree.DataTreeLiteral.DataTreeLiteralFloat) {
+                output.writeByte(TAG_FLOAT);
+                output.writeDouble(tree.asDouble());
+            } else if (tree instanceof DataTree.DataTreeLiteral.DataTreeLiteralBoolean) {
+                output.writeByte(tree.asBoolean() ? TAG_TRUE : TAG_FALSE);
+            } else if (tree instanceof DataTree.DataTreeNull) {
+                output.writeByte(TAG_NULL);
+            } else {
+                throw new IllegalArgumentException("Unknown DataTree type " + tree.getClass());
+            }
+        }
+
+        private void writeString(String value) throws IOException {
+            Integer existing = strings.get(value);
+            if (existing != null) {
+                output.writeByte(TAG_STRING_REF);
+                writeVarInt(existing);
+                return;
+            }
+            strings.put(value, strings.size());
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            output.writeByte(TAG_STRING);
+            writeVarInt(bytes.length);
+            output.write(bytes);
+        }
+
+        private void writeVarInt(int value) throws IOException {
+            writeVarLong(value & 0xFFFFFFFFL);
+        }
+
+        private void writeVarLong(long value) throws IOException {
+            while ((value & ~0x7FL) != 0) {
+                output.writeByte((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            output.writeByte((int) value);
+        }
+    }
+
+    private static final class Reader {
+        private final DataInput input;
+        private final List<DataTree.DataTreeLiteral.DataTreeLiteralString> strings = new ArrayList<>();
+        /**
+         * The number of bytes left in the encoded tree, which bounds every length read before allocating for it
+         */
+        private long remaining;
+
+        private Reader(DataInput input, long length) {
+            this.input = input;
+            this.remaining = length;
+        }
+
+        private DataTree read() throws IOException {
+            int tag = readUnsignedByte();
+            switch (tag) {
+                case TAG_NULL:
+                    return DataTree.null_();
+                case TAG_TRUE:
+                    return DataTree.bool(true);
+                case TAG_FALSE:
+                    return DataTree.bool(false);
+                case TAG_INT: {
+                    long zigzag = readVarLong();
+                    return DataTree.integer((zigzag >>> 1) ^ -(zigzag & 1));
+                }
+                case TAG_FLOAT:
+                    consume(Double.BYTES);
+                    return DataTree.floating(input.readDouble());
+                case TAG_STRING: {
+                    byte[] bytes = new byte[readLength(1)];
+                    consume(bytes.length);
+                    input.readFully(bytes);
+                    DataTree.DataTreeLiteral.DataTreeLiteralString string = DataTree.string(new String(bytes, StandardCharsets.UTF_8));
+                    strings.add(string);
+                    return string;
+                }
+                case TAG_STRING_REF: {
+                    int index = readVarInt();
+                    if (index >= strings.size()) {
+                        throw new IOException("Invalid string reference " + index);
+                    }
+                    return strings.get(index);
+                }
+                case TAG_ARRAY: {
+                    // every element takes at least one byte
+                    DataTree[] values = new DataTree[readLength(1)];
+                    for (int i = 0; i < values.length; i++) {
+                        values[i] = read();
+                    }
+                    return DataTree.array(values);
+                }
+                case TAG_MAP: {
+                    // every entry takes at least two bytes, one for the key and one for the value
+                    int size = readLength(2);
+                    CompactDataTreeMap values = new CompactDataTreeMap(size);
+                    for (int i = 0; i < size; i++) {
+                        DataTree key = read();
+                        values.put(key, read());
+                    }
+                    return DataTree.map(values);
+                }
+                default:
+                    throw new IOException("Unknown tag " + tag);
+            }
+        }
+
+        private int readLength(int minimumBytesPerElement) throws IOException {
+            int length = readVarInt();
+            if ((long) length * minimumBytesPerElement > remaining) {
+                throw new IOException("Invalid length " + length + ", only " + remaining + " bytes remain");
+            }
+            return length;
+        }
+
+        private void consume(int bytes) throws IOException {
+            if (bytes > remaining) {
+                throw new IOException("Unexpected end of tree");
+            }
+            remaining -= bytes;
+        }
+
+        private int readUnsignedByte() throws IOException {
+            consume(1);
+            return input.readUnsignedByte();
+        }
+
+        private int readVarInt() throws IOException {
+            long value = readVarLong();
+            if (value < 0 || value > Integer.MAX_VALUE) {
+                throw new IOException("Invalid length " + value);
+            }
+            return (int) value;
+        }
+
+        private long readVarLong() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readUnsignedByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed variable-length integer");
+        }
+    }
+}
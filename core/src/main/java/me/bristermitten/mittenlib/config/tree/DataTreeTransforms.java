@@ -30,21 +30,22 @@ public class DataTreeTransforms {
             return (DataTree) node;
         }
         if (node instanceof Double) {
-            return new DataTree.DataTreeLiteral.DataTreeLiteralFloat((Double) node);
+            return DataTree.floating((Double) node);
         }
         if (node instanceof Number) {
-            return new DataTree.DataTreeLiteral.DataTreeLiteralInt(((Number) node).longValue());
+            return DataTree.integer(((Number) node).longValue());
         }
         if (node instanceof String) {
             return new DataTree.DataTreeLiteral.DataTreeLiteralString((String) node);
         }
         if (node instanceof Boolean) {
-            return new DataTree.DataTreeLiteral.DataTreeLiteralBoolean((Boolean) node);
+            return DataTree.bool((Boolean) node);
         }
 
         if (node instanceof Map) {
-            LinkedHashMap<DataTree, DataTree> map = new LinkedHashMap<>();
-            for (Map.Entry<?, ?> entry : ((Map<?, ?>) node).entrySet()) {
+            Map<?, ?> source = (Map<?, ?>) node;
+            Map<DataTree, DataTree> map = new CompactDataTreeMap(source.size());
+            for (Map.Entry<?, ?> entry : source.entrySet()) {
                 map.put(loadFrom(entry.getKey()), loadFrom(entry.getValue()));
             }
             return new DataTree.DataTreeMap(map);
@@ -7,20 +7,15 @@ import com.google.gson.stream.JsonWriter;
 import me.bristermitten.mittenlib.files.json.ExtraTypeAdapter;
 
 import javax.inject.Inject;
-import javax.inject.Provider;
 import java.io.IOException;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 public class DataTreeTypeAdapter extends ExtraTypeAdapter<DataTree> {
-    private final Provider<Gson> gson;
-
     @Inject
-    DataTreeTypeAdapter(Provider<Gson> gson) {
-        this.gson = gson;
+    DataTreeTypeAdapter() {
     }
 
     @Override
@@ -29,22 +24,81 @@ public class DataTreeTypeAdapter extends ExtraTypeAdapter<DataTree> {
     }
 
     @Override
-    public void write(JsonWriter out, DataTree value) {
-        gson.get().toJson(gson.get().toJsonTree(DataTreeTransforms.toPOJO(value)), out);
+    public void write(JsonWriter out, DataTree value) throws IOException {
+        writeTree(out, value);
+    }
+
+    /**
+     * Write a {@link DataTree} straight to the given writer, without converting it to a POJO or {@link com.google.gson.JsonElement} first.
+     * This does not require a {@link Gson} instance, so can be used by generated streaming serializers.
+     * <p>
+     * JSON object keys must be strings, so non-string map keys are written as {@link String#valueOf(Object)} of their POJO form,
+     * as Gson does for maps.
+     *
+     * @param out   the writer to write to
+     * @param value the tree to write
+     * @throws IOException if the writer fails
+     */
+    public static void writeTree(JsonWriter out, DataTree value) throws IOException {
+        if (value instanceof DataTree.DataTreeMap) {
+            out.beginObject();
+            for (Map.Entry<DataTree, DataTree> entry : ((DataTree.DataTreeMap) value).values().entrySet()) {
+                out.name(keyName(entry.getKey()));
+                writeTree(out, entry.getValue());
+            }
+            out.endObject();
+        } else if (value instanceof DataTree.DataTreeArray) {
+            out.beginArray();
+            for (DataTree element : ((DataTree.DataTreeArray) value).values) {
+                writeTree(out, element);
+            }
+            out.endArray();
+        } else if (value instanceof DataTree.DataTreeLiteral.DataTreeLiteralString) {
+            out.value(((DataTree.DataTreeLiteral.DataTreeLiteralString) value).value);
+        } else if (value instanceof DataTree.DataTreeLiteral.DataTreeLiteralInt) {
+            out.value(((DataTree.DataTreeLiteral.DataTreeLiteralInt) value).value);
+        } else if (value instanceof DataTree.DataTreeLiteral.DataTreeLiteralFloat) {
+            out.value(((DataTree.DataTreeLiteral.DataTreeLiteralFloat) value).value);
+        } else if (value instanceof DataTree.DataTreeLiteral.DataTreeLiteralBoolean) {
+            out.value(((DataTree.DataTreeLiteral.DataTreeLiteralBoolean) value).value);
+        } else if (value instanceof DataTree.DataTreeNull) {
+            out.nullValue();
+        } else {
+            throw new IllegalArgumentException("Unknown DataTree type " + value.getClass());
+        }
+    }
+
+    private static String keyName(DataTree key) {
+        if (key instanceof DataTree.DataTreeLiteral.DataTreeLiteralString) {
+            return ((DataTree.DataTreeLiteral.DataTreeLiteralString) key).value;
+        }
+        return String.valueOf(DataTreeTransforms.toPOJO(key));
     }
 
     @Override
     public DataTree read(JsonReader in) throws IOException {
+        return readTree(in);
+    }
+
+    /**
+     * Read the next value from the given reader as a {@link DataTree}.
+     * This does not require a {@link Gson} instance, so can be used by generated streaming deserializers.
+     *
+     * @param in the reader to read from
+     * @return the next value as a DataTree
+     * @throws IOException if the reader fails or the JSON is malformed
+     */
+    public static DataTree readTree(JsonReader in) throws IOException {
         switch (in.peek()) {
             case NULL:
                 in.nextNull();
                 return DataTree.DataTreeNull.INSTANCE;
             case BEGIN_OBJECT:
                 in.beginObject();
-                Map<DataTree, DataTree> map = new LinkedHashMap<>();
+                Map<DataTree, DataTree> map = new CompactDataTreeMap();
                 while (in.hasNext()) {
-                    DataTree key = read(in);
-                    DataTree value = read(in);
+                    DataTree key = readTree(in);
+                    DataTree value = readTree(in);
                     map.put(key, value);
                 }
                 in.endObject();
@@ -53,7 +107,7 @@ public class DataTreeTypeAdapter extends ExtraTypeAdapter<DataTree> {
                 in.beginArray();
                 List<DataTree> list = new ArrayList<>();
                 while (in.hasNext()) {
-                    list.add(read(in));
+                    list.add(readTree(in));
                 }
                 in.endArray();
                 return new DataTree.DataTreeArray(list.toArray(new DataTree[0]));
@@ -67,18 +121,49 @@ public class DataTreeTypeAdapter extends ExtraTypeAdapter<DataTree> {
                 return new DataTree.DataTreeLiteral.DataTreeLiteralString(name);
 
             case NUMBER:
-                try {
-                    int i = in.nextInt();
-                    return new DataTree.DataTreeLiteral.DataTreeLiteralInt(i);
-                } catch (NumberFormatException e) {
-                    return new DataTree.DataTreeLiteral.DataTreeLiteralFloat(in.nextDouble());
-                }
+                return readNumber(in.nextString());
             case BOOLEAN:
-                return new DataTree.DataTreeLiteral.DataTreeLiteralBoolean(in.nextBoolean());
+                return DataTree.bool(in.nextBoolean());
 
             default:
                 throw new IllegalStateException("Invalid DataTree type: " + in.peek());
 
         }
     }
+
+    /**
+     * Parses a JSON number without using exceptions for control flow.
+     * Plain integers that fit in a long become {@link DataTree.DataTreeLiteral.DataTreeLiteralInt}s, as do
+     * other numbers with an exact int value (e.g. {@code 1.0} or {@code 1e2}). Everything else is a
+     * {@link DataTree.DataTreeLiteral.DataTreeLiteralFloat}.
+     */
+    private static DataTree readNumber(String number) {
+        if (isSmallPlainInteger(number)) {
+            return DataTree.integer(Long.parseLong(number));
+        }
+        double value = Double.parseDouble(number);
+        int asInt = (int) value;
+        if (asInt == value) {
+            return DataTree.integer(asInt);
+        }
+        return DataTree.floating(value);
+    }
+
+    /**
+     * @return if the number is an optional minus sign followed by at most 18 digits, which always fits in a long
+     */
+    private static boolean isSmallPlainInteger(String number) {
+        int start = number.startsWith("-") ? 1 : 0;
+        int digits = number.length() - start;
+        if (digits == 0 || digits > 18) {
+            return false;
+        }
+        for (int i = start; i < number.length(); i++) {
+            char c = number.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
 }
@@ -17,7 +17,7 @@ public class DataTreeTypeAdapterFactory implements TypeAdapterFactory {
     public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
         if (DataTree.class.isAssignableFrom(type.getRawType())) {
             //noinspection unchecked
-            return (TypeAdapter<T>) new DataTreeTypeAdapter(() -> gson);
+            return (TypeAdapter<T>) new DataTreeTypeAdapter();
         }
         return null;
     }
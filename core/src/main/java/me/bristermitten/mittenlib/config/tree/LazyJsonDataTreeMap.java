@@ -0,0 +1,389 @@
+package me.bristermitten.mittenlib.config.tree;
+
+import com.google.gson.stream.JsonReader;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.io.CharArrayReader;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * A read-only {@link Map} backing a {@link DataTree.DataTreeMap} that was read from JSON, whose values are only
+ * parsed when they are first accessed.
+ * <p>
+ * Creating the map only records the keys of the JSON object and the offsets of each value in the source,
+ * so large documents where only a few sections are read never build {@link DataTree}s for the rest.
+ * Nested objects are themselves lazy, while arrays and literals are parsed in one go on first access.
+ * <p>
+ * The whole document is validated as strict JSON up-front by {@link #read(char[], int)}, so syntax errors are
+ * still reported when loading rather than when a value is first accessed.
+ * The source is kept in memory for as long as the tree is reachable.
+ * <p>
+ * This class is safe to read from multiple threads, although a value may be parsed more than once under contention.
+ */
+@NullMarked
+public final class LazyJsonDataTreeMap extends AbstractMap<DataTree, DataTree> {
+    private final char[] source;
+    private final DataTree[] keys;
+    private final int[] starts;
+    private final int[] ends;
+    private final @Nullable DataTree[] parsed;
+    /**
+     * Index of {@link #keys}, only present when there are more than {@link CompactDataTreeMap#LINEAR_THRESHOLD} keys
+     */
+    private final @Nullable Map<DataTree, Integer> index;
+
+    private LazyJsonDataTreeMap(char[] source, int start) {
+        this.source = source;
+        List<DataTree> foundKeys = new ArrayList<>();
+        int[] foundStarts = new int[8];
+        int[] foundEnds = new int[8];
+        Map<DataTree, Integer> positions = new HashMap<>();
+
+        Scanner scanner = new Scanner(source, source.length, start + 1); // skip the {
+        scanner.skipWhitespace();
+        if (scanner.peek() != '}') {
+            while (true) {
+                scanner.skipWhitespace();
+                int keyStart = scanner.pos;
+                scanner.string();
+                DataTree key = DataTree.string(decodeString(source, keyStart, scanner.pos));
+                scanner.skipWhitespace();
+                scanner.pos++; // :
+                scanner.skipWhitespace();
+                int valueStart = scanner.pos;
+                scanner.value();
+                int valueEnd = scanner.pos;
+
+                // duplicate keys behave like Map#put, the last value wins but the original position is kept
+                Integer existing = positions.get(key);
+                if (existing != null) {
+                    foundStarts[existing] = valueStart;
+                    foundEnds[existing] = valueEnd;
+                } else {
+                    int i = foundKeys.size();
+                    if (i == foundStarts.length) {
+                        foundStarts = Arrays.copyOf(foundStarts, i * 2);
+                        foundEnds = Arrays.copyOf(foundEnds, i * 2);
+                    }
+                    foundKeys.add(key);
+                    foundStarts[i] = valueStart;
+                    foundEnds[i] = valueEnd;
+                    positions.put(key, i);
+                }
+
+                scanner.skipWhitespace();
+                if (source[scanner.pos++] == '}') {
+                    break;
+                }
+            }
+        }
+
+        int size = foundKeys.size();
+        this.keys = foundKeys.toArray(new DataTree[0]);
+        this.starts = Arrays.copyOf(foundStarts, size);
+        this.ends = Arrays.copyOf(foundEnds, size);
+        this.parsed = new DataTree[size];
+        this.index = size > CompactDataTreeMap.LINEAR_THRESHOLD ? positions : null;
+    }
+
+    /**
+     * Read a JSON document into a {@link DataTree}, deferring parsing of object values until they are accessed.
+     *
+     * @param source the characters of the document. This array is retained, and must not be modified afterwards
+     * @param length the number of characters in {@code source} that make up the document
+     * @return the tree, or null if the document is not strict JSON. Lenient documents (comments, unquoted strings, etc.)
+     * should be read with a regular {@link JsonReader} instead.
+     */
+    public static @Nullable DataTree read(char[] source, int length) {
+        Scanner scanner = new Scanner(source, length, 0);
+        scanner.skipWhitespace();
+        int start = scanner.pos;
+        if (!scanner.value()) {
+            return null;
+        }
+        scanner.skipWhitespace();
+        if (scanner.pos != length) {
+            return null;
+        }
+        return parse(length == source.length ? source : Arrays.copyOf(source, length), start, scanner.pos);
+    }
+
+    private static DataTree parse(char[] source, int start, int end) {
+        if (source[start] == '{') {
+            return DataTree.map(new LazyJsonDataTreeMap(source, start));
+        }
+        try {
+            return DataTreeTypeAdapter.readTree(new JsonReader(new CharArrayReader(source, start, end - start)));
+        } catch (IOException e) {
+            // the document was validated when it was read, so this can't happen
+            throw new IllegalStateException("Could not parse validated JSON", e);
+        }
+    }
+
+    private static String decodeString(char[] source, int start, int end) {
+        for (int i = start + 1; i < end - 1; i++) {
+            if (source[i] == '\\') {
+                try {
+                    return new JsonReader(new CharArrayReader(source, start, end - start)).nextString();
+                } catch (IOException e) {
+                    throw new IllegalStateException("Could not parse validated JSON", e);
+                }
+            }
+        }
+        return new String(source, start + 1, end - start - 2);
+    }
+
+    private int indexOf(@Nullable Object key) {
+        Map<DataTree, Integer> table = index;
+        if (table != null) {
+            Integer i = table.get(key);
+            return i == null ? -1 : i;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private DataTree valueAt(int i) {
+        DataTree value = parsed[i];
+        if (value == null) {
+            value = parse(source, starts[i], ends[i]);
+            parsed[i] = value;
+        }
+        return value;
+    }
+
+    @Override
+    public int size() {
+        return keys.length;
+    }
+
+    @Override
+    public boolean containsKey(@Nullable Object key) {
+        return indexOf(key) != -1;
+    }
+
+    @Override
+    public @Nullable DataTree get(@Nullable Object key) {
+        int i = indexOf(key);
+        return i == -1 ? null : valueAt(i);
+    }
+
+    @Override
+    public Set<Entry<DataTree, DataTree>> entrySet() {
+        return new AbstractSet<Entry<DataTree, DataTree>>() {
+            @Override
+            public int size() {
+                return keys.length;
+            }
+
+            @Override
+            public Iterator<Entry<DataTree, DataTree>> iterator() {
+                return new Iterator<Entry<DataTree, DataTree>>() {
+                    private int next = 0;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < keys.length;
+                    }
+
+                    @Override
+                    public Entry<DataTree, DataTree> next() {
+                        if (next >= keys.length) {
+                            throw new NoSuchElementException();
+                        }
+                        int i = next++;
+                        return new SimpleImmutableEntry<>(keys[i], valueAt(i));
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * A strict (RFC 8259) JSON scanner that validates and skips over values without allocating.
+     */
+    private static final class Scanner {
+        private final char[] source;
+        private final int end;
+        private int pos;
+
+        private Scanner(char[] source, int end, int pos) {
+            this.source = source;
+            this.end = end;
+            this.pos = pos;
+        }
+
+        private int peek() {
+            return pos < end ? source[pos] : -1;
+        }
+
+        private void skipWhitespace() {
+            while (pos < end) {
+                char c = source[pos];
+                if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                    return;
+                }
+                pos++;
+            }
+        }
+
+        private boolean value() {
+            switch (peek()) {
+                case '{':
+                    return object();
+                case '[':
+                    return array();
+                case '"':
+                    return string();
+                case 't':
+                    return literal("true");
+                case 'f':
+                    return literal("false");
+                case 'n':
+                    return literal("null");
+                default:
+                    return number();
+            }
+        }
+
+        private boolean object() {
+            pos++;
+            skipWhitespace();
+            if (peek() == '}') {
+                pos++;
+                return true;
+            }
+            while (true) {
+                skipWhitespace();
+                if (peek() != '"' || !string()) {
+                    return false;
+                }
+                skipWhitespace();
+                if (peek() != ':') {
+                    return false;
+                }
+                pos++;
+                skipWhitespace();
+                if (!value()) {
+                    return false;
+                }
+                skipWhitespace();
+                int c = peek();
+                pos++;
+                if (c == '}') {
+                    return true;
+                }
+                if (c != ',') {
+                    return false;
+                }
+            }
+        }
+
+        private boolean array() {
+            pos++;
+            skipWhitespace();
+            if (peek() == ']') {
+                pos++;
+                return true;
+            }
+            while (true) {
+                skipWhitespace();
+                if (!value()) {
+                    return false;
+                }
+                skipWhitespace();
+                int c = peek();
+                pos++;
+                if (c == ']') {
+                    return true;
+                }
+                if (c != ',') {
+                    return false;
+                }
+            }
+        }
+
+        private boolean string() {
+            pos++; // opening quote
+            while (pos < end) {
+                char c = source[pos++];
+                if (c == '"') {
+                    return true;
+                }
+                if (c < 0x20) {
+                    return false;
+                }
+                if (c == '\\') {
+                    if (pos >= end) {
+                        return false;
+                    }
+                    char escaped = source[pos++];
+                    if (escaped == 'u') {
+                        for (int i = 0; i < 4; i++) {
+                            if (pos >= end || Character.digit(source[pos++], 16) == -1) {
+                                return false;
+                            }
+                        }
+                    } else if ("\"\\/bfnrt".indexOf(escaped) == -1) {
+                        return false;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private boolean literal(String literal) {
+            if (end - pos < literal.length()) {
+                return false;
+            }
+            for (int i = 0; i < literal.length(); i++) {
+                if (source[pos + i] != literal.charAt(i)) {
+                    return false;
+                }
+            }
+            pos += literal.length();
+            return true;
+        }
+
+        private boolean number() {
+            if (peek() == '-') {
+                pos++;
+            }
+            if (peek() == '0') {
+                pos++;
+            } else if (!digits()) {
+                return false;
+            }
+            if (peek() == '.') {
+                pos++;
+                if (!digits()) {
+                    return false;
+                }
+            }
+            int c = peek();
+            if (c == 'e' || c == 'E') {
+                pos++;
+                c = peek();
+                if (c == '+' || c == '-') {
+                    pos++;
+                }
+                return digits();
+            }
+            return true;
+        }
+
+        private boolean digits() {
+            int start = pos;
+            while (pos < end && source[pos] >= '0' && source[pos] <= '9') {
+                pos++;
+            }
+            return pos != start;
+        }
+    }
+}
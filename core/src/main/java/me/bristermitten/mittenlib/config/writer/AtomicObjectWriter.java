@@ -0,0 +1,239 @@
+package me.bristermitten.mittenlib.config.writer;
+
+import me.bristermitten.mittenlib.config.tree.DataTree;
+import me.bristermitten.mittenlib.util.PathUtil;
+import me.bristermitten.mittenlib.util.Result;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * An {@link ObjectWriter} that never leaves a partially written file behind, and can write in the background.
+ * <p>
+ * Files are written to a temporary file in the same directory, which is then atomically moved over the target
+ * (see {@link PathUtil#moveAtomically(Path, Path)}), so if the process is killed mid-write the old file is kept.
+ * The new file keeps the old file's permissions, and if the path is a symbolic link, the file it links to is replaced
+ * rather than the link itself.
+ * If {@code fsync} is enabled, the temporary file is forced to disk before it is moved, and the directory is forced
+ * after, so that the new contents survive a power loss or OS crash, at the cost of slower writes.
+ * Some platforms (such as Windows) can't force directories, in which case only the file is forced.
+ * <p>
+ * {@link #writeAsync(DataTree, Path)} writes on the given {@link Executor}. Writes to the same path never run
+ * concurrently, and if several are requested before the first one starts, they are coalesced so that only the
+ * latest tree is written. Use {@link #flush()} to wait for all pending writes, for example when shutting down.
+ * <p>
+ * Serialization itself is done by the delegate writer that {@link ObjectWriter#resolve(Path)} picks for the path.
+ */
+public class AtomicObjectWriter implements ObjectWriter {
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final ObjectWriter delegate;
+    private final Executor executor;
+    private final boolean fsync;
+
+    private final Object lock = new Object();
+    /**
+     * Writes waiting to start, by path. Guarded by {@link #lock}.
+     */
+    private final Map<Path, PendingWrite> pending = new HashMap<>();
+    /**
+     * Writes currently running, by path. Guarded by {@link #lock}.
+     */
+    private final Map<Path, CompletableFuture<Void>> running = new HashMap<>();
+
+    /**
+     * Create a new AtomicObjectWriter
+     *
+     * @param delegate the writer to serialize trees with
+     * @param executor the executor to run {@link #writeAsync(DataTree, Path)} on
+     * @param fsync    whether to force written files to disk before moving them into place
+     */
+    public AtomicObjectWriter(@NotNull ObjectWriter delegate, @NotNull Executor executor, boolean fsync) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.fsync = fsync;
+    }
+
+    /**
+     * Writes the tree to a temporary file and atomically moves it over {@code path}, on the calling thread.
+     *
+     * @param tree the tree to write
+     * @param path the path to write to
+     * @return a Result indicating success or failure
+     */
+    @Override
+    public @NotNull Result<Void> write(@NotNull DataTree tree, @NotNull Path path) {
+        ObjectWriter resolved = delegate.resolve(path);
+        return Result.computeCatching(() -> {
+            Path absolute = path.toAbsolutePath();
+            boolean exists = Files.exists(absolute);
+            // replace the file a link points to, rather than the link
+            Path target = exists ? absolute.toRealPath() : absolute;
+            Path directory = target.getParent();
+            Files.createDirectories(directory);
+            Path temp = createTempFile(directory, target.getFileName());
+            try {
+                if (exists) {
+                    copyPermissions(target, temp);
+                }
+                Result<Void> result = resolved.write(tree, temp);
+                if (result.isFailure()) {
+                    return result;
+                }
+                if (fsync) {
+                    force(temp, StandardOpenOption.WRITE);
+                }
+                PathUtil.moveAtomically(temp, target);
+                if (fsync) {
+                    forceDirectory(directory);
+                }
+                return result;
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        });
+    }
+
+    /**
+     * Unlike {@link Files#createTempFile(Path, String, String)}, this creates the file with the default permissions
+     * rather than making it readable only by its owner
+     */
+    private static Path createTempFile(Path directory, Path fileName) throws IOException {
+        while (true) {
+            Path temp = directory.resolve("." + fileName + "." + Long.toHexString(ThreadLocalRandom.current().nextLong()) + TEMP_SUFFIX);
+            try {
+                return Files.createFile(temp);
+            } catch (FileAlreadyExistsException e) {
+                // try another name
+            }
+        }
+    }
+
+    private static void copyPermissions(Path source, Path target) throws IOException {
+        PosixFileAttributeView view = Files.getFileAttributeView(source, PosixFileAttributeView.class);
+        if (view != null) {
+            Files.setPosixFilePermissions(target, view.readAttributes().permissions());
+        }
+    }
+
+    private static void force(Path file, OpenOption mode) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, mode)) {
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Forces the directory entry for a moved file to disk
+     */
+    private static void forceDirectory(Path directory) {
+        try {
+            force(directory, StandardOpenOption.READ);
+        } catch (IOException e) {
+            // not supported on this platform, so there's nothing more we can do
+        }
+    }
+
+    @Override
+    public @NotNull Result<Void> write(@NotNull DataTree tree, @NotNull Writer output) {
+        return delegate.write(tree, output);
+    }
+
+    /**
+     * Writes the tree on this writer's executor, as {@link #write(DataTree, Path)} would.
+     * <p>
+     * If a write to the same path is already waiting to start, it is replaced by this one,
+     * and both calls return the same future.
+     *
+     * @param tree the tree to write
+     * @param path the path to write to
+     * @return a future completed once the tree (or a later one for the same path) has been written
+     */
+    @Override
+    public @NotNull CompletableFuture<Void> writeAsync(@NotNull DataTree tree, @NotNull Path path) {
+        synchronized (lock) {
+            PendingWrite existing = pending.get(path);
+            if (existing != null) {
+                existing.tree = tree;
+                return existing.future;
+            }
+            PendingWrite write = new PendingWrite(tree);
+            pending.put(path, write);
+            if (!running.containsKey(path)) {
+                schedule(path);
+            }
+            return write.future;
+        }
+    }
+
+    /**
+     * Must be called while holding {@link #lock}, with a pending write for the path
+     */
+    private void schedule(Path path) {
+        running.put(path, pending.get(path).future);
+        try {
+            executor.execute(() -> drain(path));
+        } catch (RejectedExecutionException e) {
+            running.remove(path);
+            pending.remove(path).future.completeExceptionally(e);
+        }
+    }
+
+    private void drain(Path path) {
+        PendingWrite next;
+        synchronized (lock) {
+            next = pending.remove(path);
+        }
+        // write outside the lock so that new writes can queue up behind this one
+        write(next.tree, path).handle(success -> next.future.complete(null), next.future::completeExceptionally);
+        synchronized (lock) {
+            running.remove(path);
+            if (pending.containsKey(path)) {
+                schedule(path);
+            }
+        }
+    }
+
+    /**
+     * Get a future that completes once every write requested so far has finished.
+     * The future is completed even if some of the writes fail.
+     *
+     * @return a future completed once all pending writes are done
+     */
+    public @NotNull CompletableFuture<Void> flush() {
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        synchronized (lock) {
+            futures.addAll(running.values());
+            for (PendingWrite write : pending.values()) {
+                futures.add(write.future);
+            }
+        }
+        return CompletableFuture.allOf(futures.stream()
+                .map(future -> future.exceptionally(e -> null))
+                .toArray(CompletableFuture[]::new));
+    }
+
+    private static final class PendingWrite {
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        private DataTree tree;
+
+        private PendingWrite(DataTree tree) {
+            this.tree = tree;
+        }
+    }
+}
@@ -10,6 +10,7 @@ import java.io.StringWriter;
 import java.io.Writer;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
 
 
 /**
@@ -34,4 +35,32 @@ public interface ObjectWriter {
                         .map(x -> writer.toString())
         );
     }
+
+    /**
+     * Write a tree to the given path without blocking the calling thread, if this writer supports it.
+     * By default, this writes synchronously and returns a completed future.
+     *
+     * @param tree the tree to write
+     * @param path the path to write to
+     * @return a future completed once the tree has been written, or completed exceptionally if writing fails
+     * @see AtomicObjectWriter
+     */
+    @NotNull
+    default CompletableFuture<Void> writeAsync(@NotNull DataTree tree, @NotNull Path path) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        write(tree, path).handle(success -> future.complete(null), future::completeExceptionally);
+        return future;
+    }
+
+    /**
+     * Gets the writer that will actually be used to write to the given {@link Path}.
+     * Most writers handle every path themselves, but delegating writers may pick a different writer per file type.
+     *
+     * @param path the path that will be written to
+     * @return the writer that will write to the path
+     */
+    @NotNull
+    default ObjectWriter resolve(@NotNull Path path) {
+        return this;
+    }
 }
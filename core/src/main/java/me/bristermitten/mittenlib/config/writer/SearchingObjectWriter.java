@@ -36,6 +36,16 @@ public class SearchingObjectWriter implements ObjectWriter {
         return fail(new IllegalStateException("Could not find a matching file type for path " + path));
     }
 
+    @Override
+    public @NotNull ObjectWriter resolve(@NotNull Path path) {
+        for (FileType fileType : fileTypes) {
+            if (fileType.matches(path)) {
+                return fileType.writer().resolve(path);
+            }
+        }
+        return this;
+    }
+
     @Override
     public @NotNull Result<Void> write(@NotNull DataTree tree, @NotNull Writer output) {
         logger.warning(() -> "SearchingObjectWriter used with write(DataTree, Writer). " +
@@ -0,0 +1,188 @@
+package me.bristermitten.mittenlib.files;
+
+import me.bristermitten.mittenlib.util.Result;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Objects;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.Checksum;
+
+/**
+ * A read-only memory mapping of a file, which is reused for as long as the file's size, modification time
+ * and identity (where supported by the file system) stay the same.
+ * <p>
+ * Readers created by {@link #open()} decode straight from the mapped pages, so reading a large file does not
+ * copy it through an intermediate heap buffer.
+ * <p>
+ * Note that some platforms (notably Windows) don't allow a mapped file to be deleted or replaced until
+ * the mapping has been garbage collected.
+ * <p>
+ * Files that are rewritten while mapped should be replaced atomically, for example with
+ * {@link me.bristermitten.mittenlib.config.writer.AtomicObjectWriter}, rather than truncated and rewritten in place.
+ * Reading a mapping past the end of a file that has shrunk faults, so readers check the file's size as they go,
+ * and once it has shrunk they drop the mapping and continue with normal reads from the same position.
+ * This can't close the window between the check and the read entirely, and the contents read may mix the old and
+ * new file, so in-place rewrites should still be avoided.
+ * <p>
+ * This class is thread safe.
+ */
+public final class MappedFile {
+    private final Path path;
+
+    private @Nullable MappedByteBuffer buffer;
+    private long size = -1;
+    private @Nullable FileTime lastModified;
+    private @Nullable Object fileKey;
+
+    /**
+     * Create a new MappedFile. The file is not mapped until {@link #open()} is first called.
+     *
+     * @param path the file to map
+     */
+    public MappedFile(@NotNull Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Open a UTF-8 {@link Reader} over the file, remapping it first if it has changed since it was last mapped.
+     *
+     * @return a new Reader starting at the beginning of the file
+     */
+    public @NotNull Result<Reader> open() {
+        return Result.runCatching(() -> new InputStreamReader(openStream(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Open a UTF-8 {@link Reader} over the file as in {@link #open()},
+     * updating the given checksum with every byte the reader decodes.
+     * The checksum only covers the whole file once the reader has been read to the end.
+     *
+     * @param checksum the checksum to update
+     * @return a new Reader starting at the beginning of the file
+     */
+    public @NotNull Result<Reader> open(@NotNull Checksum checksum) {
+        return Result.runCatching(() -> new InputStreamReader(new CheckedInputStream(openStream(), checksum), StandardCharsets.UTF_8));
+    }
+
+    private InputStream openStream() throws IOException {
+        MappedByteBuffer mapping = map();
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        return new MappedInputStream(mapping, channel);
+    }
+
+    private synchronized MappedByteBuffer map() throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        MappedByteBuffer current = buffer;
+        if (current != null
+            && attributes.size() == size
+            && attributes.lastModifiedTime().equals(lastModified)
+            && Objects.equals(attributes.fileKey(), fileKey)) {
+            return current;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // the mapping stays valid after the channel is closed
+            current = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        buffer = current;
+        size = attributes.size();
+        lastModified = attributes.lastModifiedTime();
+        fileKey = attributes.fileKey();
+        return current;
+    }
+
+    private synchronized void unmap(MappedByteBuffer mapping) {
+        if (buffer == mapping) {
+            buffer = null;
+        }
+    }
+
+    /**
+     * Get the path of the mapped file
+     *
+     * @return the path
+     */
+    public @NotNull Path getPath() {
+        return path;
+    }
+
+    private final class MappedInputStream extends InputStream {
+        private final MappedByteBuffer mapping;
+        private final ByteBuffer buffer;
+        /**
+         * A channel over the file, used to check its size before reading the mapping,
+         * and to read from once the file has shrunk
+         */
+        private final FileChannel channel;
+        private boolean mapped = true;
+        /**
+         * The position in the file once reading from the channel
+         */
+        private long position;
+
+        private MappedInputStream(MappedByteBuffer mapping, FileChannel channel) {
+            this.mapping = mapping;
+            // cast so that Java 8 binds to ByteBuffer#duplicate rather than the MappedByteBuffer override added in 17
+            this.buffer = ((ByteBuffer) mapping).duplicate();
+            this.channel = channel;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte @NotNull [] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (mapped) {
+                if (!buffer.hasRemaining()) {
+                    return -1;
+                }
+                int read = Math.min(len, buffer.remaining());
+                if (channel.size() - buffer.position() >= read) {
+                    try {
+                        buffer.get(b, off, read);
+                        return read;
+                    } catch (InternalError e) {
+                        // the file shrank after the size check, which the JVM reports as an InternalError
+                    }
+                }
+                mapped = false;
+                position = buffer.position();
+                unmap(mapping);
+            }
+            int read = channel.read(ByteBuffer.wrap(b, off, len), position);
+            if (read > 0) {
+                position += read;
+            }
+            return read;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return mapped ? buffer.remaining() : 0;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -1,13 +1,22 @@
 package me.bristermitten.mittenlib.files.json;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import me.bristermitten.mittenlib.config.DeserializationErrorMode;
+import me.bristermitten.mittenlib.config.StreamingDeserializationFunction;
+import me.bristermitten.mittenlib.config.reader.ObjectMapper;
 import me.bristermitten.mittenlib.config.reader.ObjectLoader;
 import me.bristermitten.mittenlib.config.tree.DataTree;
 import me.bristermitten.mittenlib.util.Result;
+import me.bristermitten.mittenlib.util.lambda.SafeSupplier;
 import org.jetbrains.annotations.NotNull;
 
 import javax.inject.Inject;
 import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 /**
  * An {@link ObjectLoader} that uses Gson to parse a JSON string
@@ -25,4 +34,45 @@ public class GsonObjectLoader implements ObjectLoader {
         return Result.runCatching(() ->
                 gson.fromJson(source, DataTree.class));
     }
+
+    /**
+     * Load a value directly from the given {@link Path} using a {@link StreamingDeserializationFunction},
+     * skipping the intermediate {@link DataTree}.
+     *
+     * @param source    the path to read from
+     * @param function  the function to deserialize with
+     * @param mapper    the mapper to pass to the function
+     * @param errorMode how the function should handle deserialization errors
+     * @param <T>       the type to deserialize to
+     * @return the result of deserialization
+     */
+    public <T> @NotNull Result<T> load(@NotNull Path source, @NotNull StreamingDeserializationFunction<T> function, @NotNull ObjectMapper mapper, @NotNull DeserializationErrorMode errorMode) {
+        return Result.tryWithResources(
+                (SafeSupplier<Reader>) () -> Files.newBufferedReader(source),
+                reader -> load(reader, function, mapper, errorMode));
+    }
+
+    /**
+     * Load a value directly from the given {@link Reader} using a {@link StreamingDeserializationFunction},
+     * skipping the intermediate {@link DataTree}.
+     * This method does not close the given {@link Reader}.
+     *
+     * @param source    the reader to read from
+     * @param function  the function to deserialize with
+     * @param mapper    the mapper to pass to the function
+     * @param errorMode how the function should handle deserialization errors
+     * @param <T>       the type to deserialize to
+     * @return the result of deserialization
+     */
+    public <T> @NotNull Result<T> load(@NotNull Reader source, @NotNull StreamingDeserializationFunction<T> function, @NotNull ObjectMapper mapper, @NotNull DeserializationErrorMode errorMode) {
+        return Result.computeCatching(() -> {
+            JsonReader reader = new JsonReader(source);
+            reader.setLenient(true); // match Gson#fromJson
+            Result<T> result = function.deserialize(reader, mapper, errorMode);
+            if (reader.peek() != JsonToken.END_DOCUMENT) {
+                return Result.fail(new JsonIOException("JSON document was not fully consumed."));
+            }
+            return result;
+        });
+    }
 }
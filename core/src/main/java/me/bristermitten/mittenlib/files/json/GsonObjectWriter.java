@@ -1,13 +1,19 @@
 package me.bristermitten.mittenlib.files.json;
 
 import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
 import com.google.inject.Inject;
+import me.bristermitten.mittenlib.config.StreamingSerializationFunction;
+import me.bristermitten.mittenlib.config.reader.ObjectMapper;
 import me.bristermitten.mittenlib.config.tree.DataTree;
 import me.bristermitten.mittenlib.config.writer.ObjectWriter;
 import me.bristermitten.mittenlib.util.Result;
+import me.bristermitten.mittenlib.util.lambda.SafeSupplier;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 /**
  * An {@link ObjectWriter} implementation that writes {@link DataTree} instances
@@ -43,4 +49,46 @@ public class GsonObjectWriter implements ObjectWriter {
             return null;
         });
     }
+
+    /**
+     * Write a value directly to the given {@link Path} using a {@link StreamingSerializationFunction},
+     * skipping the intermediate {@link DataTree}.
+     *
+     * @param value    the value to write
+     * @param path     the path to write to
+     * @param function the function to serialize with
+     * @param mapper   the mapper to pass to the function
+     * @param <T>      the type to serialize
+     * @return a {@link Result} that is successful if the write completes without throwing,
+     *         or failed with the thrown exception otherwise
+     */
+    public <T> @NotNull Result<Void> write(@NotNull T value, @NotNull Path path, @NotNull StreamingSerializationFunction<T> function, @NotNull ObjectMapper mapper) {
+        return Result.tryWithResources(
+                (SafeSupplier<Writer>) () -> Files.newBufferedWriter(path),
+                writer -> write(value, writer, function, mapper));
+    }
+
+    /**
+     * Write a value directly to the given {@link Writer} using a {@link StreamingSerializationFunction},
+     * skipping the intermediate {@link DataTree}.
+     * The JSON is formatted with the same settings as {@link #write(DataTree, Writer)}.
+     * This method does not close the given {@link Writer}.
+     *
+     * @param value    the value to write
+     * @param output   the writer to write to
+     * @param function the function to serialize with
+     * @param mapper   the mapper to pass to the function
+     * @param <T>      the type to serialize
+     * @return a {@link Result} that is successful if the write completes without throwing,
+     *         or failed with the thrown exception otherwise
+     */
+    public <T> @NotNull Result<Void> write(@NotNull T value, @NotNull Writer output, @NotNull StreamingSerializationFunction<T> function, @NotNull ObjectMapper mapper) {
+        return Result.runCatching(() -> {
+            JsonWriter writer = gson.newJsonWriter(output);
+            writer.setLenient(true); // match Gson#toJson
+            function.serialize(value, writer, mapper);
+            writer.flush();
+            return null;
+        });
+    }
 }
@@ -0,0 +1,54 @@
+package me.bristermitten.mittenlib.files.json;
+
+import com.google.gson.Gson;
+import me.bristermitten.mittenlib.config.tree.DataTree;
+import me.bristermitten.mittenlib.config.tree.LazyJsonDataTreeMap;
+import me.bristermitten.mittenlib.util.Result;
+import org.jetbrains.annotations.NotNull;
+
+import javax.inject.Inject;
+import java.io.CharArrayReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * A {@link GsonObjectLoader} that produces lazy {@link DataTree}s, where the values of JSON objects are only parsed
+ * when they are first accessed. See {@link LazyJsonDataTreeMap} for details.
+ * <p>
+ * Documents that are not strict JSON (e.g. that use comments) are loaded eagerly, exactly like {@link GsonObjectLoader}.
+ *
+ * @see LazyJSONFileType
+ */
+public class LazyGsonObjectLoader extends GsonObjectLoader {
+
+    @Inject
+    public LazyGsonObjectLoader(Gson gson) {
+        super(gson);
+    }
+
+    @Override
+    public @NotNull Result<DataTree> load(@NotNull Reader source) {
+        return Result.runCatching(() -> readFully(source))
+                .flatMap(chars -> {
+                    DataTree lazy = LazyJsonDataTreeMap.read(chars, chars.length);
+                    if (lazy != null) {
+                        return Result.ok(lazy);
+                    }
+                    return super.load(new CharArrayReader(chars));
+                });
+    }
+
+    private static char[] readFully(Reader reader) throws IOException {
+        char[] buffer = new char[8192];
+        int length = 0;
+        int read;
+        while ((read = reader.read(buffer, length, buffer.length - length)) != -1) {
+            length += read;
+            if (length == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+        }
+        return length == buffer.length ? buffer : Arrays.copyOf(buffer, length);
+    }
+}
@@ -0,0 +1,18 @@
+package me.bristermitten.mittenlib.files.json;
+
+import javax.inject.Inject;
+
+/**
+ * A {@link JSONFileType} that loads files with a {@link LazyGsonObjectLoader}, so that only the parts of
+ * a file that are actually read get parsed.
+ * This is useful for large files where only a few sections are used.
+ * <p>
+ * To use it, register it in place of {@link JSONFileType}, e.g.
+ * {@code new FileTypeModule(new FileTypes(new HashSet<>(Arrays.asList(LazyJSONFileType.class, YamlFileType.class))), GsonObjectMapper.class)}
+ */
+public class LazyJSONFileType extends JSONFileType {
+    @Inject
+    public LazyJSONFileType(LazyGsonObjectLoader loader, GsonObjectWriter gsonObjectWriter) {
+        super(loader, gsonObjectWriter);
+    }
+}
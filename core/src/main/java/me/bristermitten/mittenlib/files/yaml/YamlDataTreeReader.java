@@ -0,0 +1,323 @@
+package me.bristermitten.mittenlib.files.yaml;
+
+import me.bristermitten.mittenlib.config.tree.CompactDataTreeMap;
+import me.bristermitten.mittenlib.config.tree.DataTree;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.events.*;
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+import java.math.BigInteger;
+import java.util.*;
+
+/**
+ * Builds a {@link DataTree} directly from a stream of SnakeYAML {@link Event}s.
+ * <p>
+ * Unlike {@link org.yaml.snakeyaml.Yaml#load(java.io.Reader)}, this never builds the intermediate
+ * {@link Map} / {@link List} object graph, so a document is only materialised once.
+ * Scalars are resolved with the same implicit rules as SnakeYAML's {@code SafeConstructor}
+ * (ints in any YAML 1.1 radix, {@code .inf} / {@code .nan}, {@code yes} / {@code off}, etc.), and
+ * anchors, aliases and merge keys ({@code <<}) are supported.
+ * <p>
+ * As with SnakeYAML's {@code Composer}, limits on collection aliases and mapping nesting depth
+ * are enforced, and streams containing more than one document are rejected.
+ * The limits are plain values rather than {@code LoaderOptions}, which older SnakeYAML versions
+ * (such as the one bundled with 1.8 servers) don't have.
+ * Aliased collections share the same {@link DataTree} instance, so without the alias limit a small document
+ * could expand exponentially when the tree is later walked.
+ * <p>
+ * Instances are single-use and not thread safe.
+ */
+class YamlDataTreeReader {
+    /**
+     * The default limit on aliases to collections, matching SnakeYAML's {@code LoaderOptions}.
+     */
+    static final int DEFAULT_MAX_ALIASES_FOR_COLLECTIONS = 50;
+    /**
+     * The default limit on mapping nesting depth, matching SnakeYAML's {@code LoaderOptions}.
+     */
+    static final int DEFAULT_NESTING_DEPTH_LIMIT = 50;
+
+    private static final Map<String, Boolean> BOOL_VALUES = new HashMap<>();
+
+    static {
+        BOOL_VALUES.put("yes", true);
+        BOOL_VALUES.put("no", false);
+        BOOL_VALUES.put("true", true);
+        BOOL_VALUES.put("false", false);
+        BOOL_VALUES.put("on", true);
+        BOOL_VALUES.put("off", false);
+    }
+
+    private final Iterator<Event> events;
+    private final int maxAliasesForCollections;
+    private final int nestingDepthLimit;
+    private final Resolver resolver = new Resolver();
+    private final Map<String, DataTree> anchors = new HashMap<>();
+    private int collectionAliases;
+    private int nestingDepth;
+
+    /**
+     * Create a new YamlDataTreeReader
+     *
+     * @param events                   the events to read, usually from {@link org.yaml.snakeyaml.Yaml#parse(java.io.Reader)}
+     * @param maxAliasesForCollections the maximum number of aliases to sequences and mappings
+     * @param nestingDepthLimit        the maximum depth mappings can be nested to
+     */
+    YamlDataTreeReader(@NotNull Iterable<Event> events, int maxAliasesForCollections, int nestingDepthLimit) {
+        this.events = events.iterator();
+        this.maxAliasesForCollections = maxAliasesForCollections;
+        this.nestingDepthLimit = nestingDepthLimit;
+    }
+
+    /**
+     * Read the only document in the event stream.
+     *
+     * @return the document as a {@link DataTree}, or {@link DataTree.DataTreeNull} if the stream is empty
+     * @throws YAMLException if the stream contains more than one document, or exceeds the loader limits
+     */
+    @NotNull DataTree read() {
+        DataTree document = DataTree.null_();
+        int documents = 0;
+        while (events.hasNext()) {
+            Event event = events.next();
+            if (event instanceof DocumentStartEvent) {
+                if (++documents > 1) {
+                    throw new YAMLException("expected a single document in the stream, but found another document at " + event.getStartMark());
+                }
+                continue;
+            }
+            if (event instanceof StreamStartEvent || event instanceof DocumentEndEvent) {
+                continue;
+            }
+            if (event instanceof StreamEndEvent) {
+                break;
+            }
+            document = readNode(event);
+        }
+        return document;
+    }
+
+    private Event next() {
+        if (!events.hasNext()) {
+            throw new IllegalStateException("Unexpected end of YAML stream");
+        }
+        return events.next();
+    }
+
+    private DataTree readNode(Event event) {
+        if (event instanceof AliasEvent) {
+            String anchor = ((AliasEvent) event).getAnchor();
+            DataTree aliased = anchors.get(anchor);
+            if (aliased == null) {
+                throw new IllegalStateException("Found undefined alias " + anchor);
+            }
+            if (aliased instanceof DataTree.DataTreeMap || aliased instanceof DataTree.DataTreeArray) {
+                if (++collectionAliases > maxAliasesForCollections) {
+                    throw new YAMLException("Number of aliases for non-scalar nodes exceeds the specified max=" + maxAliasesForCollections);
+                }
+            }
+            return aliased;
+        }
+        if (event instanceof ScalarEvent) {
+            ScalarEvent scalar = (ScalarEvent) event;
+            return anchor(scalar, readScalar(scalar, resolveTag(scalar)));
+        }
+        if (event instanceof SequenceStartEvent) {
+            return anchor((NodeEvent) event, readSequence());
+        }
+        if (event instanceof MappingStartEvent) {
+            // like the Composer, only mappings count towards the nesting limit
+            increaseNestingDepth();
+            DataTree mapping = readMapping();
+            nestingDepth--;
+            return anchor((NodeEvent) event, mapping);
+        }
+        throw new IllegalStateException("Unexpected YAML event: " + event);
+    }
+
+    private void increaseNestingDepth() {
+        if (++nestingDepth > nestingDepthLimit) {
+            throw new YAMLException("Nesting Depth exceeded max " + nestingDepthLimit);
+        }
+    }
+
+    private DataTree anchor(NodeEvent event, DataTree tree) {
+        String anchor = event.getAnchor();
+        if (anchor != null) {
+            anchors.put(anchor, tree);
+        }
+        return tree;
+    }
+
+    private DataTree readSequence() {
+        List<DataTree> values = new ArrayList<>();
+        Event event;
+        while (!((event = next()) instanceof SequenceEndEvent)) {
+            values.add(readNode(event));
+        }
+        return DataTree.array(values.toArray(new DataTree[0]));
+    }
+
+    private DataTree readMapping() {
+        Map<DataTree, DataTree> values = new CompactDataTreeMap();
+        @Nullable List<DataTree> merges = null;
+        Event event;
+        while (!((event = next()) instanceof MappingEndEvent)) {
+            if (event instanceof ScalarEvent) {
+                ScalarEvent scalar = (ScalarEvent) event;
+                Tag tag = resolveTag(scalar);
+                if (Tag.MERGE.equals(tag)) {
+                    if (merges == null) {
+                        merges = new ArrayList<>(1);
+                    }
+                    merges.add(readNode(next()));
+                    continue;
+                }
+                DataTree key = anchor(scalar, readScalar(scalar, tag));
+                values.put(key, readNode(next()));
+                continue;
+            }
+            DataTree key = readNode(event);
+            values.put(key, readNode(next()));
+        }
+        if (merges != null) {
+            values = merge(values, merges);
+        }
+        return DataTree.map(values);
+    }
+
+    /**
+     * Applies merge keys with the same precedence as SnakeYAML:
+     * explicit keys win over merged ones, and earlier merge sources win over later ones.
+     */
+    private static Map<DataTree, DataTree> merge(Map<DataTree, DataTree> explicit, List<DataTree> merges) {
+        Map<DataTree, DataTree> merged = new CompactDataTreeMap();
+        for (DataTree source : merges) {
+            if (source instanceof DataTree.DataTreeMap) {
+                mergeInto(merged, (DataTree.DataTreeMap) source);
+            } else if (source instanceof DataTree.DataTreeArray) {
+                for (DataTree element : ((DataTree.DataTreeArray) source).getValues()) {
+                    if (!(element instanceof DataTree.DataTreeMap)) {
+                        throw new IllegalStateException("Expected a mapping for merging, but found " + element);
+                    }
+                    mergeInto(merged, (DataTree.DataTreeMap) element);
+                }
+            } else {
+                throw new IllegalStateException("Expected a mapping or list of mappings for merging, but found " + source);
+            }
+        }
+        merged.putAll(explicit);
+        return merged;
+    }
+
+    private static void mergeInto(Map<DataTree, DataTree> target, DataTree.DataTreeMap source) {
+        for (Map.Entry<DataTree, DataTree> entry : source.values().entrySet()) {
+            target.putIfAbsent(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private Tag resolveTag(ScalarEvent event) {
+        String tag = event.getTag();
+        if (tag == null || tag.equals("!")) {
+            return resolver.resolve(NodeId.scalar, event.getValue(), event.getImplicit().canOmitTagInPlainScalar());
+        }
+        return new Tag(tag);
+    }
+
+    private static DataTree readScalar(ScalarEvent event, Tag tag) {
+        String value = event.getValue();
+        if (Tag.STR.equals(tag)) {
+            return DataTree.string(value);
+        }
+        if (Tag.INT.equals(tag)) {
+            return DataTree.integer(parseInt(value));
+        }
+        if (Tag.FLOAT.equals(tag)) {
+            return DataTree.floating(parseFloat(value));
+        }
+        if (Tag.BOOL.equals(tag)) {
+            Boolean bool = BOOL_VALUES.get(value.toLowerCase(Locale.ROOT));
+            if (bool == null) {
+                throw new IllegalArgumentException("Invalid boolean value " + value);
+            }
+            return DataTree.bool(bool);
+        }
+        if (Tag.NULL.equals(tag)) {
+            return DataTree.null_();
+        }
+        // timestamps, binary and custom tags have no DataTree equivalent, so keep the raw text
+        return DataTree.string(value);
+    }
+
+    private static long parseInt(String raw) {
+        String value = raw.replace("_", "");
+        int sign = 1;
+        char first = value.charAt(0);
+        if (first == '-') {
+            sign = -1;
+            value = value.substring(1);
+        } else if (first == '+') {
+            value = value.substring(1);
+        }
+        if (value.equals("0")) {
+            return 0;
+        }
+        if (value.startsWith("0b")) {
+            return parseLong(sign, value.substring(2), 2);
+        }
+        if (value.startsWith("0x")) {
+            return parseLong(sign, value.substring(2), 16);
+        }
+        if (value.startsWith("0")) {
+            return parseLong(sign, value.substring(1), 8);
+        }
+        if (value.indexOf(':') != -1) {
+            long result = 0;
+            for (String digit : value.split(":")) {
+                result = result * 60 + Long.parseLong(digit);
+            }
+            return sign * result;
+        }
+        return parseLong(sign, value, 10);
+    }
+
+    private static long parseLong(int sign, String digits, int radix) {
+        String signed = sign < 0 ? "-" + digits : digits;
+        try {
+            return Long.parseLong(signed, radix);
+        } catch (NumberFormatException e) {
+            // SnakeYAML would produce a BigInteger here, which was then truncated to a long
+            return new BigInteger(signed, radix).longValue();
+        }
+    }
+
+    private static double parseFloat(String raw) {
+        String value = raw.replace("_", "").toLowerCase(Locale.ROOT);
+        int sign = 1;
+        char first = value.charAt(0);
+        if (first == '-') {
+            sign = -1;
+            value = value.substring(1);
+        } else if (first == '+') {
+            value = value.substring(1);
+        }
+        if (value.equals(".inf")) {
+            return sign < 0 ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        }
+        if (value.equals(".nan")) {
+            return Double.NaN;
+        }
+        if (value.indexOf(':') != -1) {
+            double result = 0;
+            for (String digit : value.split(":")) {
+                result = result * 60 + Double.parseDouble(digit);
+            }
+            return sign * result;
+        }
+        return sign * Double.parseDouble(value);
+    }
+}
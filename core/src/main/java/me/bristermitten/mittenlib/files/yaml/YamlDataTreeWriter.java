@@ -0,0 +1,146 @@
+package me.bristermitten.mittenlib.files.yaml;
+
+import me.bristermitten.mittenlib.config.tree.DataTree;
+import org.jetbrains.annotations.NotNull;
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.external.biz.base64Coder.Base64Coder;
+import org.yaml.snakeyaml.nodes.MappingNode;
+import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.nodes.NodeTuple;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.SequenceNode;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.reader.StreamReader;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Builds a SnakeYAML {@link Node} graph directly from a {@link DataTree}, ready to be passed to
+ * {@link org.yaml.snakeyaml.Yaml#serialize(Node, java.io.Writer)}.
+ * <p>
+ * This is the inverse of {@link YamlDataTreeReader}. Unlike {@link org.yaml.snakeyaml.Yaml#dump(Object)}, the tree
+ * doesn't need converting to a {@link Map} / {@link List} object graph first, and nodes are built without going through
+ * the {@link org.yaml.snakeyaml.representer.Representer}'s class lookups.
+ * Tags and styles are chosen with the same rules as SnakeYAML's {@code SafeRepresenter}, so the output is identical
+ * to dumping with a {@link org.yaml.snakeyaml.Yaml} created with the same {@link DumperOptions}.
+ * <p>
+ * The node and style APIs used here need SnakeYAML 1.26 or newer; callers must check this before creating an instance.
+ * <p>
+ * Instances are stateless and thread safe.
+ */
+class YamlDataTreeWriter {
+    private static final Pattern MULTILINE_PATTERN = Pattern.compile("\n|\u0085|\u2028|\u2029");
+
+    private final DumperOptions options;
+
+    /**
+     * Create a new YamlDataTreeWriter
+     *
+     * @param options the options to pick default styles from. These should match the options of the
+     *                {@link org.yaml.snakeyaml.Yaml} instance the nodes are serialized with.
+     */
+    YamlDataTreeWriter(@NotNull DumperOptions options) {
+        this.options = options;
+    }
+
+    /**
+     * Convert a tree to a node.
+     * A new node is created for every value, even if the same {@link DataTree} instance appears more than once,
+     * so that the serializer doesn't introduce anchors and aliases.
+     *
+     * @param tree the tree to convert
+     * @return the root node
+     */
+    @NotNull Node write(@NotNull DataTree tree) {
+        if (tree instanceof DataTree.DataTreeMap) {
+            return writeMapping((DataTree.DataTreeMap) tree);
+        }
+        if (tree instanceof DataTree.DataTreeArray) {
+            return writeSequence((DataTree.DataTreeArray) tree);
+        }
+        if (tree instanceof DataTree.DataTreeLiteral.DataTreeLiteralString) {
+            return writeString(((DataTree.DataTreeLiteral.DataTreeLiteralString) tree).value);
+        }
+        if (tree instanceof DataTree.DataTreeLiteral.DataTreeLiteralInt) {
+            return scalar(Tag.INT, Long.toString(((DataTree.DataTreeLiteral.DataTreeLiteralInt) tree).value));
+        }
+        if (tree instanceof DataTree.DataTreeLiteral.DataTreeLiteralFloat) {
+            return scalar(Tag.FLOAT, formatFloat(((DataTree.DataTreeLiteral.DataTreeLiteralFloat) tree).value));
+        }
+        if (tree instanceof DataTree.DataTreeLiteral.DataTreeLiteralBoolean) {
+            return scalar(Tag.BOOL, ((DataTree.DataTreeLiteral.DataTreeLiteralBoolean) tree).value ? "true" : "false");
+        }
+        if (tree instanceof DataTree.DataTreeNull) {
+            return scalar(Tag.NULL, "null");
+        }
+        throw new IllegalArgumentException("Unknown DataTree type " + tree.getClass());
+    }
+
+    private Node writeMapping(DataTree.DataTreeMap tree) {
+        Map<DataTree, DataTree> values = tree.values();
+        List<NodeTuple> tuples = new ArrayList<>(values.size());
+        boolean allPlain = true;
+        for (Map.Entry<DataTree, DataTree> entry : values.entrySet()) {
+            Node key = write(entry.getKey());
+            Node value = write(entry.getValue());
+            allPlain &= isPlainScalar(key) && isPlainScalar(value);
+            tuples.add(new NodeTuple(key, value));
+        }
+        return new MappingNode(Tag.MAP, tuples, flowStyle(allPlain));
+    }
+
+    private Node writeSequence(DataTree.DataTreeArray tree) {
+        List<Node> items = new ArrayList<>(tree.values.length);
+        boolean allPlain = true;
+        for (DataTree value : tree.values) {
+            Node item = write(value);
+            allPlain &= isPlainScalar(item);
+            items.add(item);
+        }
+        return new SequenceNode(Tag.SEQ, items, flowStyle(allPlain));
+    }
+
+    private Node writeString(String value) {
+        if (options.getNonPrintableStyle() == DumperOptions.NonPrintableStyle.BINARY && !StreamReader.isPrintable(value)) {
+            String binary = String.valueOf(Base64Coder.encode(value.getBytes(StandardCharsets.UTF_8)));
+            return new ScalarNode(Tag.BINARY, binary, null, null, DumperOptions.ScalarStyle.LITERAL);
+        }
+        if (options.getDefaultScalarStyle() == DumperOptions.ScalarStyle.PLAIN && MULTILINE_PATTERN.matcher(value).find()) {
+            return new ScalarNode(Tag.STR, value, null, null, DumperOptions.ScalarStyle.LITERAL);
+        }
+        return scalar(Tag.STR, value);
+    }
+
+    private Node scalar(Tag tag, String value) {
+        return new ScalarNode(tag, value, null, null, options.getDefaultScalarStyle());
+    }
+
+    private static String formatFloat(double value) {
+        if (Double.isNaN(value)) {
+            return ".NaN";
+        }
+        if (value == Double.POSITIVE_INFINITY) {
+            return ".inf";
+        }
+        if (value == Double.NEGATIVE_INFINITY) {
+            return "-.inf";
+        }
+        return Double.toString(value);
+    }
+
+    private static boolean isPlainScalar(Node node) {
+        return node instanceof ScalarNode && ((ScalarNode) node).isPlain();
+    }
+
+    private DumperOptions.FlowStyle flowStyle(boolean allPlain) {
+        DumperOptions.FlowStyle defaultStyle = options.getDefaultFlowStyle();
+        if (defaultStyle != DumperOptions.FlowStyle.AUTO) {
+            return defaultStyle;
+        }
+        return allPlain ? DumperOptions.FlowStyle.FLOW : DumperOptions.FlowStyle.BLOCK;
+    }
+}
@@ -2,7 +2,6 @@ package me.bristermitten.mittenlib.files.yaml;
 
 import me.bristermitten.mittenlib.config.reader.ObjectLoader;
 import me.bristermitten.mittenlib.config.tree.DataTree;
-import me.bristermitten.mittenlib.config.tree.DataTreeTransforms;
 import me.bristermitten.mittenlib.util.Result;
 import org.jetbrains.annotations.NotNull;
 import org.yaml.snakeyaml.Yaml;
@@ -14,20 +13,39 @@ import static me.bristermitten.mittenlib.util.Result.runCatching;
 
 public class YamlObjectLoader implements ObjectLoader {
     private final Yaml yaml;
-
+    private final int maxAliasesForCollections;
+    private final int nestingDepthLimit;
+
+    /**
+     * Create a new YamlObjectLoader, allowing 50 aliases to collections and mappings nested 50 deep,
+     * the same defaults as SnakeYAML's {@code LoaderOptions}.
+     * <p>
+     * Only the {@link Yaml} instance's parser is used. Scalars are always resolved with SnakeYAML's default
+     * {@link org.yaml.snakeyaml.resolver.Resolver}, and any resolver or loader limits the instance was created with
+     * are ignored; use {@link #YamlObjectLoader(Yaml, int, int)} to change the limits.
+     *
+     * @param yaml the Yaml instance to parse with
+     */
     @Inject
     public YamlObjectLoader(Yaml yaml) {
+        this(yaml, YamlDataTreeReader.DEFAULT_MAX_ALIASES_FOR_COLLECTIONS, YamlDataTreeReader.DEFAULT_NESTING_DEPTH_LIMIT);
+    }
 
+    /**
+     * Create a new YamlObjectLoader
+     *
+     * @param yaml                     the Yaml instance to parse with
+     * @param maxAliasesForCollections the maximum number of aliases to sequences and mappings in a document
+     * @param nestingDepthLimit        the maximum depth mappings can be nested to
+     */
+    public YamlObjectLoader(Yaml yaml, int maxAliasesForCollections, int nestingDepthLimit) {
         this.yaml = yaml;
+        this.maxAliasesForCollections = maxAliasesForCollections;
+        this.nestingDepthLimit = nestingDepthLimit;
     }
 
     @Override
     public @NotNull Result<@NotNull DataTree> load(@NotNull Reader source) {
-        return runCatching(() -> {
-
-            Object obj = yaml.load(source);
-
-            return DataTreeTransforms.loadFrom(obj);
-        });
+        return runCatching(() -> new YamlDataTreeReader(yaml.parse(source), maxAliasesForCollections, nestingDepthLimit).read());
     }
 }
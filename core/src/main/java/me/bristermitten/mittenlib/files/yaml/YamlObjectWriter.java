@@ -5,6 +5,8 @@ import me.bristermitten.mittenlib.config.tree.DataTreeTransforms;
 import me.bristermitten.mittenlib.config.writer.ObjectWriter;
 import me.bristermitten.mittenlib.util.Result;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.yaml.snakeyaml.DumperOptions;
 import org.yaml.snakeyaml.Yaml;
 
 import javax.inject.Inject;
@@ -14,13 +16,51 @@ import static me.bristermitten.mittenlib.util.Result.runCatching;
 
 /**
  * Responsible for writing DataTree objects to YAML format.
+ * <p>
+ * By default, trees are converted to POJOs and dumped, so the {@link Yaml} instance's own options decide the output.
+ * If the {@link DumperOptions} are given too, trees are turned straight into SnakeYAML nodes
+ * (see {@link YamlDataTreeWriter}) and serialized instead.
  */
 public class YamlObjectWriter implements ObjectWriter {
+    /**
+     * Whether the node styles {@link YamlDataTreeWriter} uses are available.
+     * They were added in SnakeYAML 1.26, so they're missing on older servers (1.8 bundles 1.15).
+     */
+    private static final boolean NODE_WRITER_SUPPORTED = isNodeWriterSupported();
+
     private final Yaml yaml;
+    private final @Nullable YamlDataTreeWriter treeWriter;
 
+    /**
+     * Create a new YamlObjectWriter, which dumps trees with the given {@link Yaml}
+     *
+     * @param yaml the Yaml instance to dump with
+     */
     @Inject
     public YamlObjectWriter(Yaml yaml) {
         this.yaml = yaml;
+        this.treeWriter = null;
+    }
+
+    /**
+     * Create a new YamlObjectWriter, which serializes trees as nodes built with the given options.
+     * If the running SnakeYAML version is too old to build the nodes, trees are dumped as with {@link #YamlObjectWriter(Yaml)}.
+     *
+     * @param yaml    the Yaml instance to serialize with
+     * @param options the options the Yaml instance was created with, used to pick flow and scalar styles
+     */
+    public YamlObjectWriter(Yaml yaml, DumperOptions options) {
+        this.yaml = yaml;
+        this.treeWriter = NODE_WRITER_SUPPORTED ? new YamlDataTreeWriter(options) : null;
+    }
+
+    private static boolean isNodeWriterSupported() {
+        try {
+            Class.forName("org.yaml.snakeyaml.DumperOptions$NonPrintableStyle");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
     }
 
 
@@ -35,8 +75,12 @@ public class YamlObjectWriter implements ObjectWriter {
     @Override
     public @NotNull Result<Void> write(@NotNull DataTree tree, @NotNull Writer writer) {
         return runCatching(() -> {
-            Object pojo = DataTreeTransforms.toPOJO(tree);
-            yaml.dump(pojo, writer);
+            if (treeWriter != null) {
+                yaml.serialize(treeWriter.write(tree), writer);
+            } else {
+                Object pojo = DataTreeTransforms.toPOJO(tree);
+                yaml.dump(pojo, writer);
+            }
             writer.flush();
             return null;
         });
@@ -4,6 +4,8 @@ import org.bukkit.Sound;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Map;
+
 public class LangMessage {
     private final @Nullable String message;
     private final @Nullable String title;
@@ -11,6 +13,16 @@ public class LangMessage {
     private final @Nullable String actionBar;
     private final @Nullable SoundConfig sound;
 
+    /*
+     * Templates compiled for the last set of placeholder keys each part was sent with.
+     * These are compiled lazily as the keys aren't known until a message is sent, and are transient so that they're
+     * skipped by Gson (which may not run field initializers). Templates are immutable, so racing writes are harmless.
+     */
+    private transient @Nullable PlaceholderTemplate messageTemplate;
+    private transient @Nullable PlaceholderTemplate titleTemplate;
+    private transient @Nullable PlaceholderTemplate subtitleTemplate;
+    private transient @Nullable PlaceholderTemplate actionBarTemplate;
+
     public LangMessage(@Nullable String message, @Nullable String title, @Nullable String subtitle, @Nullable String actionBar, @Nullable SoundConfig sound) {
         this.message = message;
         this.title = title;
@@ -35,6 +47,70 @@ public class LangMessage {
         return actionBar;
     }
 
+    /**
+     * Get the message with the given placeholders applied
+     *
+     * @param placeholders the placeholders to apply
+     * @return the message with placeholders applied, or null if there is no message
+     * @see PlaceholderTemplate
+     */
+    public @Nullable String getMessage(@NotNull Map<String, ?> placeholders) {
+        if (message == null) {
+            return null;
+        }
+        PlaceholderTemplate template = PlaceholderTemplate.reuseOrCompile(messageTemplate, message, placeholders);
+        messageTemplate = template;
+        return template.fill(placeholders);
+    }
+
+    /**
+     * Get the title with the given placeholders applied
+     *
+     * @param placeholders the placeholders to apply
+     * @return the title with placeholders applied, or null if there is no title
+     * @see PlaceholderTemplate
+     */
+    public @Nullable String getTitle(@NotNull Map<String, ?> placeholders) {
+        if (title == null) {
+            return null;
+        }
+        PlaceholderTemplate template = PlaceholderTemplate.reuseOrCompile(titleTemplate, title, placeholders);
+        titleTemplate = template;
+        return template.fill(placeholders);
+    }
+
+    /**
+     * Get the subtitle with the given placeholders applied
+     *
+     * @param placeholders the placeholders to apply
+     * @return the subtitle with placeholders applied, or null if there is no subtitle
+     * @see PlaceholderTemplate
+     */
+    public @Nullable String getSubtitle(@NotNull Map<String, ?> placeholders) {
+        if (subtitle == null) {
+            return null;
+        }
+        PlaceholderTemplate template = PlaceholderTemplate.reuseOrCompile(subtitleTemplate, subtitle, placeholders);
+        subtitleTemplate = template;
+        return template.fill(placeholders);
+    }
+
+    /**
+     * Get the action bar with the given placeholders applied
+     *
+     * @param placeholders the placeholders to apply
+     * @return the action bar with placeholders applied, or null if there is no action bar
+     * @see PlaceholderTemplate
+     */
+    public @Nullable String getActionBar(@NotNull Map<String, ?> placeholders) {
+        if (actionBar == null) {
+            return null;
+        }
+        PlaceholderTemplate template = PlaceholderTemplate.reuseOrCompile(actionBarTemplate, actionBar, placeholders);
+        actionBarTemplate = template;
+        return template.fill(placeholders);
+    }
+
     public @Nullable SoundConfig getSound() {
         return sound;
     }
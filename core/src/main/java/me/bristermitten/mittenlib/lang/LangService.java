@@ -1,6 +1,7 @@
 package me.bristermitten.mittenlib.lang;
 
 import me.bristermitten.mittenlib.lang.format.MessageFormatter;
+import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.platform.bukkit.BukkitAudiences;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.title.Title;
@@ -11,9 +12,11 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.function.UnaryOperator;
 
 import static me.bristermitten.mittenlib.util.Cast.safeCast;
@@ -64,32 +67,25 @@ public class LangService {
                 send(receiver, message, placeholders, messagePrefix);
             }
         }
-        UnaryOperator<String> applyPlaceholders = str -> {
-            for (Map.Entry<String, Object> entry : placeholders.entrySet()) {
-                str = str.replace(entry.getKey(), entry.getValue().toString());
+        final String message = langMessage.getMessage(placeholders);
+        if (message != null) {
+            if (messagePrefix == null) {
+                sendMessage(receiver, message);
+            } else {
+                // prefixes are usually one-offs, so aren't worth caching a template for
+                sendMessage(receiver, PlaceholderTemplate.compile(messagePrefix, placeholders.keySet()).fill(placeholders) + message);
             }
-            return str;
-        };
-
-        if (langMessage.getMessage() != null) {
-            String message = langMessage.getMessage();
-            if (messagePrefix != null) message = messagePrefix + message;
-            final String replaced = applyPlaceholders.apply(message);
-            sendMessage(receiver, replaced);
         }
 
         if (langMessage.getTitle() != null || langMessage.getSubtitle() != null) {
-            final String title = Optional.ofNullable(langMessage.getTitle())
-                    .map(applyPlaceholders)
-                    .orElse(null);
-            final String subtitle = Optional.ofNullable(langMessage.getSubtitle())
-                    .map(applyPlaceholders)
-                    .orElse("");
-
-            sendTitle(receiver, title, subtitle);
+            final String title = langMessage.getTitle(placeholders);
+            final String subtitle = langMessage.getSubtitle(placeholders);
+
+            sendTitle(receiver, title, subtitle == null ? "" : subtitle);
         }
-        if (langMessage.getActionBar() != null) {
-            sendActionBar(receiver, applyPlaceholders.apply(langMessage.getActionBar()));
+        final String actionBar = langMessage.getActionBar(placeholders);
+        if (actionBar != null) {
+            sendActionBar(receiver, actionBar);
         }
 
         final LangMessage.SoundConfig sound = langMessage.getSound();
@@ -99,6 +95,78 @@ public class LangService {
         }
     }
 
+    public void broadcast(@NotNull Collection<? extends CommandSender> receivers, @NotNull LangMessage langMessage) {
+        broadcast(receivers, langMessage, Collections.emptyMap());
+    }
+
+    /**
+     * Send a message to many receivers at once.
+     * <p>
+     * This gives the same result as calling {@link #send(CommandSender, LangMessage, Map)} for each receiver,
+     * but placeholders are only applied once, and parts of the message that the {@link MessageFormatter} says are
+     * not {@link MessageFormatter#isPlayerDependent(String) player dependent} are only formatted once and sent to
+     * every receiver as a single {@link Audience}. Player dependent parts are still formatted for each receiver.
+     *
+     * @param receivers    the receivers to send the message to
+     * @param langMessage  the message to send
+     * @param placeholders the placeholders to apply to the message
+     */
+    public void broadcast(@NotNull Collection<? extends CommandSender> receivers, @NotNull LangMessage langMessage, @NotNull Map<String, Object> placeholders) {
+        if (langMessage instanceof CompoundLangMessage) {
+            CompoundLangMessage compound = (CompoundLangMessage) langMessage;
+            for (LangMessage message : compound.getComponents()) {
+                broadcast(receivers, message, placeholders);
+            }
+        }
+        if (receivers.isEmpty()) {
+            return;
+        }
+        final List<Audience> receiverAudiences = new ArrayList<>(receivers.size());
+        for (CommandSender receiver : receivers) {
+            receiverAudiences.add(audiences.sender(receiver));
+        }
+        final Audience everyone = Audience.audience(receiverAudiences);
+
+        final String message = langMessage.getMessage(placeholders);
+        if (message != null) {
+            if (formatter.isPlayerDependent(message)) {
+                receivers.forEach(receiver -> sendMessage(receiver, message));
+            } else {
+                everyone.sendMessage(getSharedComponent(message));
+            }
+        }
+
+        if (langMessage.getTitle() != null || langMessage.getSubtitle() != null) {
+            final String title = langMessage.getTitle(placeholders);
+            final String subtitleOrNull = langMessage.getSubtitle(placeholders);
+            final String subtitle = subtitleOrNull == null ? "" : subtitleOrNull;
+            if ((title != null && formatter.isPlayerDependent(title)) || formatter.isPlayerDependent(subtitle)) {
+                receivers.forEach(receiver -> sendTitle(receiver, title, subtitle));
+            } else {
+                everyone.showTitle(Title.title(getSharedComponent(title), getSharedComponent(subtitle)));
+            }
+        }
+
+        final String actionBar = langMessage.getActionBar(placeholders);
+        if (actionBar != null) {
+            if (formatter.isPlayerDependent(actionBar)) {
+                receivers.forEach(receiver -> sendActionBar(receiver, actionBar));
+            } else {
+                everyone.sendActionBar(getSharedComponent(actionBar));
+            }
+        }
+
+        final LangMessage.SoundConfig sound = langMessage.getSound();
+        if (sound != null) {
+            for (CommandSender receiver : receivers) {
+                if (receiver instanceof Player) {
+                    Player player = (Player) receiver;
+                    player.playSound(player.getLocation(), sound.getSound(), sound.getVolume(), sound.getPitch());
+                }
+            }
+        }
+    }
+
     public void sendMessage(CommandSender receiver, String message) {
         audiences.sender(receiver).sendMessage(getFormattedComponent(receiver, message));
     }
@@ -107,6 +175,10 @@ public class LangService {
         return componentPostProcessor.apply(formatter.format(message, safeCast(receiver, OfflinePlayer.class)));
     }
 
+    private Component getSharedComponent(String message) {
+        return componentPostProcessor.apply(formatter.format(message, null));
+    }
+
     public void sendActionBar(CommandSender receiver, String message) {
         audiences.sender(receiver).sendActionBar(getFormattedComponent(receiver, message));
     }
@@ -0,0 +1,152 @@
+package me.bristermitten.mittenlib.lang;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A piece of text that has been split into literal segments and placeholder slots for a fixed set of placeholder keys,
+ * so that placeholders can be applied with a single linear fill rather than one {@link String#replace} per placeholder.
+ * <p>
+ * Keys are matched with the same rules as replacing each key in turn, in iteration order,
+ * except that placeholder values are never scanned for other keys. Empty keys are ignored.
+ * <p>
+ * Templates are immutable, and so can be safely shared between threads.
+ */
+public final class PlaceholderTemplate {
+    private final String[] keys;
+    /**
+     * The literal segments, with {@code literals.length == slots.length + 1}
+     */
+    private final String[] literals;
+    /**
+     * The index in {@link #keys} of the value to insert after each literal
+     */
+    private final int[] slots;
+    private final int literalLength;
+
+    private PlaceholderTemplate(String[] keys, String[] literals, int[] slots) {
+        this.keys = keys;
+        this.literals = literals;
+        this.slots = slots;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Compile a template for the given text and placeholder keys
+     *
+     * @param text the text to compile
+     * @param keys the placeholder keys, in the order they should be matched
+     * @return the compiled template
+     */
+    public static @NotNull PlaceholderTemplate compile(@NotNull String text, @NotNull Collection<String> keys) {
+        String[] keyArray = keys.toArray(new String[0]);
+        List<String> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        literals.add(text);
+
+        for (int key = 0; key < keyArray.length; key++) {
+            String placeholder = keyArray[key];
+            if (placeholder.isEmpty()) {
+                continue;
+            }
+            List<String> splitLiterals = new ArrayList<>(literals.size());
+            List<Integer> splitSlots = new ArrayList<>(slots.size());
+            for (int i = 0; i < literals.size(); i++) {
+                if (i > 0) {
+                    splitSlots.add(slots.get(i - 1));
+                }
+                String literal = literals.get(i);
+                int from = 0;
+                int index;
+                while ((index = literal.indexOf(placeholder, from)) != -1) {
+                    splitLiterals.add(literal.substring(from, index));
+                    splitSlots.add(key);
+                    from = index + placeholder.length();
+                }
+                splitLiterals.add(literal.substring(from));
+            }
+            literals = splitLiterals;
+            slots = splitSlots;
+        }
+
+        int[] slotArray = new int[slots.size()];
+        for (int i = 0; i < slotArray.length; i++) {
+            slotArray[i] = slots.get(i);
+        }
+        return new PlaceholderTemplate(keyArray, literals.toArray(new String[0]), slotArray);
+    }
+
+    /**
+     * Get a template for the given text that can be filled with the given placeholders,
+     * reusing {@code existing} if it was compiled for the same keys in the same order.
+     *
+     * @param existing     a previously compiled template for the text, or null
+     * @param text         the text to compile if {@code existing} can't be reused
+     * @param placeholders the placeholders the template will be filled with
+     * @return a template that can be filled with the placeholders
+     */
+    public static @NotNull PlaceholderTemplate reuseOrCompile(PlaceholderTemplate existing, @NotNull String text, @NotNull Map<String, ?> placeholders) {
+        if (existing != null && existing.isCompiledFor(placeholders)) {
+            return existing;
+        }
+        return compile(text, placeholders.keySet());
+    }
+
+    /**
+     * Check if this template was compiled for exactly the keys of the given placeholders, in the same order.
+     *
+     * @param placeholders the placeholders to check
+     * @return true if {@link #fill(Map)} gives the same result as compiling a new template for these placeholders
+     */
+    public boolean isCompiledFor(@NotNull Map<String, ?> placeholders) {
+        if (placeholders.size() != keys.length) {
+            return false;
+        }
+        Iterator<String> iterator = placeholders.keySet().iterator();
+        for (String key : keys) {
+            if (!key.equals(iterator.next())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Fill this template's placeholder slots with the given values.
+     * Every key this template was compiled for must have a non-null value.
+     *
+     * @param placeholders the placeholder values, whose {@link Object#toString()} is inserted
+     * @return the filled text
+     */
+    public @NotNull String fill(@NotNull Map<String, ?> placeholders) {
+        if (slots.length == 0) {
+            return literals[0];
+        }
+        String[] values = new String[keys.length];
+        int valuesLength = 0;
+        for (int slot : slots) {
+            String value = values[slot];
+            if (value == null) {
+                value = placeholders.get(keys[slot]).toString();
+                values[slot] = value;
+            }
+            valuesLength += value.length();
+        }
+
+        StringBuilder builder = new StringBuilder(literalLength + valuesLength);
+        builder.append(literals[0]);
+        for (int i = 0; i < slots.length; i++) {
+            builder.append(values[slots[i]]).append(literals[i + 1]);
+        }
+        return builder.toString();
+    }
+}
@@ -34,11 +34,77 @@ public abstract class AbstractMessageFormatter implements MessageFormatter {
 
     @Override
     public @NotNull String preFormat(@NotNull String message, @Nullable OfflinePlayer player) {
+        return preFormatTracked(message, player).getMessage();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This implementation runs the hooks in order until it reaches a {@link FormattingHook#isPlayerDependent() player dependent}
+     * hook that {@link FormattingHook#mayChange(String) may change} the message at that point.
+     * Hooks that run before then are player independent, so they are run without a player.
+     */
+    @Override
+    public boolean isPlayerDependent(@NotNull String message) {
+        for (FormattingHook hook : hooks) {
+            if (!hook.mayChange(message) || !hook.shouldRegister()) {
+                continue;
+            }
+            if (hook.isPlayerDependent()) {
+                return true;
+            }
+            message = hook.format(message, null);
+        }
+        return false;
+    }
+
+    /**
+     * Apply all {@link FormattingHook}s to a String, like {@link #preFormat(String, OfflinePlayer)},
+     * while tracking whether any {@link FormattingHook#isPlayerDependent() player dependent} hook changed it.
+     * Hooks that {@link FormattingHook#mayChange(String) can't change} the message are skipped.
+     *
+     * @param message the message to format
+     * @param player  the player to format for
+     * @return the formatted String, and whether it may be specific to the player
+     */
+    protected @NotNull PreFormatResult preFormatTracked(@NotNull String message, @Nullable OfflinePlayer player) {
+        boolean playerDependent = false;
         for (FormattingHook hook : hooks) {
-            if (hook.shouldRegister()) {
-                message = hook.format(message, player);
+            if (hook.mayChange(message) && hook.shouldRegister()) {
+                String formatted = hook.format(message, player);
+                if (hook.isPlayerDependent() && !playerDependent && !formatted.equals(message)) {
+                    playerDependent = true;
+                }
+                message = formatted;
             }
         }
-        return message;
+        return new PreFormatResult(message, playerDependent);
+    }
+
+    /**
+     * The result of {@link #preFormatTracked(String, OfflinePlayer)}
+     */
+    protected static final class PreFormatResult {
+        private final @NotNull String message;
+        private final boolean playerDependent;
+
+        PreFormatResult(@NotNull String message, boolean playerDependent) {
+            this.message = message;
+            this.playerDependent = playerDependent;
+        }
+
+        /**
+         * @return the formatted message
+         */
+        public @NotNull String getMessage() {
+            return message;
+        }
+
+        /**
+         * @return if a player dependent hook changed the message, meaning it is probably only valid for this player
+         */
+        public boolean isPlayerDependent() {
+            return playerDependent;
+        }
     }
 }
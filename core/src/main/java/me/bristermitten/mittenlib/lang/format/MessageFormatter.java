@@ -42,4 +42,18 @@ public interface MessageFormatter {
      */
     @NotNull MessageFormatter withExtraHooks(@NotNull FormattingHook... hooks);
 
+    /**
+     * Check if {@link #format(String, OfflinePlayer)} may give a different result for the given message depending on
+     * the player. If this returns false, a {@link Component} formatted once (with a null player) can be shared
+     * between any number of receivers.
+     * <p>
+     * The default implementation returns true, which is always safe.
+     *
+     * @param message the message that will be formatted
+     * @return if formatting the message may depend on the player
+     */
+    default boolean isPlayerDependent(@NotNull String message) {
+        return true;
+    }
+
 }
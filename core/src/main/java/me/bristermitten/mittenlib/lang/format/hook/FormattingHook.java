@@ -32,4 +32,49 @@ public interface FormattingHook {
      * @return the formatted String
      */
     @NotNull String format(@NotNull String message, @Nullable OfflinePlayer player);
+
+    /**
+     * If the result of {@link #format(String, OfflinePlayer)} may depend on its player argument.
+     * Formatters use this to decide whether work done for one message can be reused for other players,
+     * so hooks that ignore the player should override this to return false.
+     * <p>
+     * The default implementation returns true, which is always safe.
+     *
+     * @return if this hook's output may depend on the player
+     */
+    default boolean isPlayerDependent() {
+        return true;
+    }
+
+    /**
+     * The characters that must appear in a message for {@link #format(String, OfflinePlayer)} to change it,
+     * for example {@code %} for PlaceholderAPI. Formatters skip the hook for messages that contain none of them.
+     * <p>
+     * The default implementation returns null, meaning the hook may change any message.
+     *
+     * @return the trigger characters, or null if there are none
+     */
+    default @Nullable String getTriggerCharacters() {
+        return null;
+    }
+
+    /**
+     * Check if {@link #format(String, OfflinePlayer)} may change the given message,
+     * based on its {@link #getTriggerCharacters() trigger characters}.
+     *
+     * @param message the message to check
+     * @return false if the hook definitely won't change the message
+     */
+    default boolean mayChange(@NotNull String message) {
+        final String triggers = getTriggerCharacters();
+        if (triggers == null) {
+            return true;
+        }
+        for (int i = 0; i < triggers.length(); i++) {
+            if (message.indexOf(triggers.charAt(i)) != -1) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -1,14 +1,12 @@
 package me.bristermitten.mittenlib.lang.format.hook;
 
+import me.bristermitten.mittenlib.util.Cached;
 import me.bristermitten.mittenlib.util.Version;
 import org.bukkit.ChatColor;
 import org.bukkit.OfflinePlayer;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 /**
  * This is a truly outrageous hack
  * Essentially, when a papi expansion returns a hex color, it doesn't get parsed properly by MiniMessage
@@ -17,26 +15,46 @@ import java.util.regex.Pattern;
  * and turns it into a format that MiniMessage can recognise
  */
 public class HexColorFixerHook implements FormattingHook {
-    private static final Pattern HEX_PATTERN = Pattern.compile("§x((§[0-9a-f]){6})");
+    private static final String TRIGGER_CHARACTERS = String.valueOf(ChatColor.COLOR_CHAR);
+    /**
+     * Hex colors were added in 1.16. This can't be computed eagerly, as hooks may be created before Bukkit is ready.
+     */
+    private static final Cached<Boolean> SUPPORTS_HEX = new Cached<>(() -> Version.getServerVersion().isNewerThan(Version.VER_1_16));
 
     @Override
     public boolean shouldRegister() {
-        return Version.getServerVersion().isNewerThan(Version.VER_1_16);
+        return SUPPORTS_HEX.get();
     }
 
     @Override
     public @NotNull String format(@NotNull String message, @Nullable OfflinePlayer player) {
-        final Matcher matcher = HEX_PATTERN.matcher(message);
-
-
-        final StringBuffer stringBuilder = new StringBuffer();
-        while (matcher.find()) {
-            final String replacement = "<#" + matcher.group(1)
-                    .replace("" + ChatColor.COLOR_CHAR, "") + ">";
-            matcher.appendReplacement(stringBuilder, replacement);
+        StringBuilder builder = null;
+        int copiedUpTo = 0;
+        for (int i = message.indexOf(ChatColor.COLOR_CHAR); i != -1; i = message.indexOf(ChatColor.COLOR_CHAR, i + 1)) {
+            if (!LegacyColorCodes.isHexCode(message, i, false)) {
+                continue;
+            }
+            if (builder == null) {
+                builder = new StringBuilder(message.length());
+            }
+            builder.append(message, copiedUpTo, i);
+            LegacyColorCodes.appendHexTag(builder, message, i);
+            copiedUpTo = i + LegacyColorCodes.HEX_CODE_LENGTH;
+            i = copiedUpTo - 1;
         }
-        matcher.appendTail(stringBuilder);
+        if (builder == null) {
+            return message;
+        }
+        return builder.append(message, copiedUpTo, message.length()).toString();
+    }
 
-        return stringBuilder.toString();
+    @Override
+    public boolean isPlayerDependent() {
+        return false;
+    }
+
+    @Override
+    public @NotNull String getTriggerCharacters() {
+        return TRIGGER_CHARACTERS;
     }
 }
@@ -0,0 +1,65 @@
+package me.bristermitten.mittenlib.lang.format.hook;
+
+import org.bukkit.ChatColor;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Helpers for scanning legacy color codes by hand, shared by the color code hooks
+ * so that they can process a message in a single pass without regular expressions.
+ */
+public final class LegacyColorCodes {
+    /**
+     * The length of a legacy hex color code, such as {@code §x§f§f§0§0§0§0}
+     */
+    public static final int HEX_CODE_LENGTH = 14;
+
+    private LegacyColorCodes() {
+    }
+
+    /**
+     * Check if a legacy hex color code (e.g. {@code §x§f§f§0§0§0§0}) starts at the given index.
+     * Digits must be lower case, as produced by {@link net.md_5.bungee.api.ChatColor}.
+     *
+     * @param message        the message to check
+     * @param index          the index the code may start at
+     * @param allowAmpersand if {@code &} may be used in place of {@link ChatColor#COLOR_CHAR}
+     * @return if a hex color code starts at the index
+     */
+    public static boolean isHexCode(@NotNull CharSequence message, int index, boolean allowAmpersand) {
+        if (index + HEX_CODE_LENGTH > message.length()
+            || !isCodeChar(message.charAt(index), allowAmpersand)
+            || message.charAt(index + 1) != 'x') {
+            return false;
+        }
+        for (int i = index + 2; i < index + HEX_CODE_LENGTH; i += 2) {
+            if (!isCodeChar(message.charAt(i), allowAmpersand) || !isHexDigit(message.charAt(i + 1))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Append the MiniMessage tag (e.g. {@code <#ff0000>}) for a hex color code.
+     * {@link #isHexCode(CharSequence, int, boolean)} should be checked first.
+     *
+     * @param builder the builder to append to
+     * @param message the message containing the code
+     * @param index   the index the code starts at
+     */
+    public static void appendHexTag(@NotNull StringBuilder builder, @NotNull CharSequence message, int index) {
+        builder.append("<#");
+        for (int i = index + 3; i < index + HEX_CODE_LENGTH; i += 2) {
+            builder.append(message.charAt(i));
+        }
+        builder.append('>');
+    }
+
+    private static boolean isCodeChar(char c, boolean allowAmpersand) {
+        return c == ChatColor.COLOR_CHAR || (allowAmpersand && c == '&');
+    }
+
+    private static boolean isHexDigit(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f');
+    }
+}
@@ -15,4 +15,14 @@ public class SimpleColorCodeHook implements FormattingHook {
     public @NotNull String format(@NotNull String message, @Nullable OfflinePlayer player) {
         return ChatColor.translateAlternateColorCodes('&', message);
     }
+
+    @Override
+    public boolean isPlayerDependent() {
+        return false;
+    }
+
+    @Override
+    public @NotNull String getTriggerCharacters() {
+        return "&";
+    }
 }
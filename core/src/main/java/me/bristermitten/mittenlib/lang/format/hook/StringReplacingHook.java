@@ -13,6 +13,7 @@ import java.util.function.Supplier;
 public class StringReplacingHook implements FormattingHook {
 
     private final Set<Map.Entry<String, Object>> replacements;
+    private final @Nullable String triggerCharacters;
 
     /**
      * Create a new StringReplacingHook
@@ -29,6 +30,24 @@ public class StringReplacingHook implements FormattingHook {
         for (int i = 0; i < replacements.length; i += 2) {
             this.replacements.add(new AbstractMap.SimpleEntry<>((String) replacements[i], replacements[i + 1]));
         }
+        this.triggerCharacters = computeTriggerCharacters(this.replacements);
+    }
+
+    /**
+     * A key can only be found in a message if its first character is, so those are the trigger characters
+     */
+    private static @Nullable String computeTriggerCharacters(Set<Map.Entry<String, Object>> replacements) {
+        StringBuilder triggers = new StringBuilder(replacements.size());
+        for (Map.Entry<String, Object> replacement : replacements) {
+            String key = replacement.getKey();
+            if (key.isEmpty()) {
+                return null;
+            }
+            if (triggers.indexOf(key.substring(0, 1)) == -1) {
+                triggers.append(key.charAt(0));
+            }
+        }
+        return triggers.toString();
     }
 
     @Override
@@ -46,6 +65,16 @@ public class StringReplacingHook implements FormattingHook {
         return message;
     }
 
+    @Override
+    public boolean isPlayerDependent() {
+        return false;
+    }
+
+    @Override
+    public @Nullable String getTriggerCharacters() {
+        return triggerCharacters;
+    }
+
     private String getStringValue(Object s) {
         if (s instanceof Supplier) {
             //noinspection rawtypes
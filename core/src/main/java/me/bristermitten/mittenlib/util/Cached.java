@@ -3,16 +3,26 @@ package me.bristermitten.mittenlib.util;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
 /**
  * A {@link Supplier} which caches the value it supplies.
+ * <p>
+ * This class is thread safe. Reading a cached value never blocks, and if the value needs computing,
+ * only one thread computes it while any others wait for the result.
  *
  * @param <T> The type of the value.
  */
 public class Cached<T> implements Supplier<T> {
     private final Supplier<T> computeWith;
-    private @Nullable T t;
+    private final AtomicReference<@Nullable T> t = new AtomicReference<>();
+    /**
+     * Incremented on every invalidation, so that a value computed across an invalidation is not cached
+     */
+    private final AtomicLong generation = new AtomicLong();
+    private final Object computeLock = new Object();
 
     /**
      * Create a new Cached with the given supplier, lazily computing the value.
@@ -32,7 +42,7 @@ public class Cached<T> implements Supplier<T> {
     public Cached(Supplier<@NotNull T> computeWith, boolean eager) {
         this.computeWith = computeWith;
         if (eager) {
-            update();
+            get();
         }
     }
 
@@ -40,13 +50,29 @@ public class Cached<T> implements Supplier<T> {
      * Invalidate the cached value, causing it to be recomputed on the next call to {@link #get()}.
      * Note that this does not respect {@link Cached#Cached(Supplier, boolean)}'s {@code eager} parameter,
      * and will always lazily compute the value.
+     * <p>
+     * If the value is being computed while this is called, that computation's result is returned to the threads
+     * waiting for it, but is not cached.
      */
     public void invalidate() {
-        t = null;
+        generation.incrementAndGet();
+        t.set(null);
     }
 
-    private void update() {
-        t = computeWith.get();
+    private T update() {
+        synchronized (computeLock) {
+            T value = t.get();
+            if (value != null) {
+                return value; // computed by another thread while we were waiting
+            }
+            long computingGeneration = generation.get();
+            value = computeWith.get();
+            if (t.compareAndSet(null, value) && generation.get() != computingGeneration) {
+                // invalidated while computing
+                t.compareAndSet(value, null);
+            }
+            return value;
+        }
     }
 
     /**
@@ -57,10 +83,11 @@ public class Cached<T> implements Supplier<T> {
     @Override
     @NotNull
     public T get() {
-        if (t == null) {
-            update();
+        T value = t.get();
+        if (value != null) {
+            return value;
         }
-        return t;
+        return update();
     }
 
 }
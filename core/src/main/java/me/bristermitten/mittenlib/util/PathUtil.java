@@ -7,21 +7,70 @@ import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.FileSystem;
 import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.nio.file.spi.FileSystemProvider;
 import java.util.Collections;
 import java.util.Objects;
+import java.util.zip.CRC32;
 
 /**
  * Utility class for working with {@link Path}s
  */
 public class PathUtil {
+    private static final int CHECKSUM_BUFFER_SIZE = 64 * 1024;
+
     private PathUtil() {
     }
 
+    /**
+     * Computes a CRC32 checksum of a file's contents.
+     * This is intended as a cheap way to tell if a file's contents have changed, not for security.
+     *
+     * @param path the file to checksum
+     * @return the checksum, between 0 and 2<sup>32</sup>-1
+     * @throws IOException if the file could not be read
+     */
+    public static long checksum(@NotNull Path path) throws IOException {
+        CRC32 crc = new CRC32();
+        ByteBuffer buffer = ByteBuffer.allocate(CHECKSUM_BUFFER_SIZE);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (channel.read(buffer) != -1) {
+                // cast so that Java 8 binds to Buffer#flip and Buffer#clear rather than the ByteBuffer overrides added in 9
+                ((Buffer) buffer).flip();
+                crc.update(buffer);
+                ((Buffer) buffer).clear();
+            }
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * Moves a file over another, atomically if the file system supports it.
+     * Readers of {@code target} see either its old or new contents, never a partially written file.
+     * If atomic moves aren't supported, this falls back to a regular replacing move.
+     *
+     * @param source the file to move
+     * @param target the file to replace
+     * @throws IOException if the file could not be moved
+     */
+    public static void moveAtomically(@NotNull Path source, @NotNull Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
     /**
      * Converts a {@link URL} to a {@link Path}.
      * <a href="https://stackoverflow.com/questions/15713119/java-nio-file-path-for-a-classpath-resource">Credit</a>
@@ -2,6 +2,7 @@ package me.bristermitten.mittenlib.watcher;
 
 import java.nio.file.Path;
 import java.nio.file.WatchEvent;
+import java.time.Duration;
 import java.util.function.Consumer;
 
 /**
@@ -12,16 +13,36 @@ import java.util.function.Consumer;
 public class FileWatcher {
     private final Path watching;
     private final Consumer<WatchEvent<Path>> onModify;
+    private final Duration debounce;
 
     /**
-     * Create a new FileWatcher
+     * Create a new FileWatcher, which is notified of every change immediately
      *
      * @param watching the path to watch. This can either be a file or a directory.
      * @param onModify the consumer to call when the file changes
      */
     public FileWatcher(Path watching, Consumer<WatchEvent<Path>> onModify) {
+        this(watching, onModify, Duration.ZERO);
+    }
+
+    /**
+     * Create a new debounced FileWatcher.
+     * Rather than being called for every change, {@code onModify} is called once no more changes have happened
+     * for {@code debounce}, with the most recent event. This coalesces bursts of changes (e.g. an editor saving,
+     * or a deployment touching many files) into a single call.
+     *
+     * @param watching the path to watch. This can either be a file or a directory.
+     * @param onModify the consumer to call when the file changes
+     * @param debounce how long to wait for further changes before calling {@code onModify}.
+     *                 {@link Duration#ZERO} disables debouncing.
+     */
+    public FileWatcher(Path watching, Consumer<WatchEvent<Path>> onModify, Duration debounce) {
+        if (debounce.isNegative()) {
+            throw new IllegalArgumentException("debounce must not be negative");
+        }
         this.watching = watching;
         this.onModify = onModify;
+        this.debounce = debounce;
     }
 
     /**
@@ -41,4 +62,13 @@ public class FileWatcher {
     public Consumer<WatchEvent<Path>> getOnModify() {
         return onModify;
     }
+
+    /**
+     * Get how long to wait for further changes before calling {@link #getOnModify()}.
+     *
+     * @return the debounce duration, or {@link Duration#ZERO} if changes are delivered immediately
+     */
+    public Duration getDebounce() {
+        return debounce;
+    }
 }
@@ -10,6 +10,8 @@ import javax.inject.Provider;
 import javax.inject.Singleton;
 import java.io.IOException;
 import java.nio.file.*;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.*;
@@ -28,6 +30,10 @@ public class FileWatcherService {
     private final ExecutorService service;
     private final AtomicBoolean watching = new AtomicBoolean(false);
     private final Logger logger = Logger.getLogger(FileWatcherService.class.getName());
+    /**
+     * Debounced events waiting to be delivered. Only accessed from the watcher thread.
+     */
+    private final Map<FileWatcher, PendingEvent> pendingEvents = new LinkedHashMap<>();
 
     @Inject
     FileWatcherService(@NotNull Provider<WatchService> watchServiceProvider, @NotNull MittenLibConsumer consumer) {
@@ -163,21 +169,82 @@ public class FileWatcherService {
     }
 
     private boolean pollEvents(@NotNull WatchService watchService) throws InterruptedException {
-        final WatchKey key = watchService.take();
-        final Path at = (Path) key.watchable();
-        for (WatchEvent<?> pollEvent : key.pollEvents()) {
-            //noinspection unchecked
-            WatchEvent<Path> event = (WatchEvent<Path>) pollEvent;
-
-            final Path resolved = at.resolve(event.context()); // the file that changed
-            final @Nullable Set<FileWatcher> fileWatchers = watchers.get(resolved);
-            if (fileWatchers == null) {
-                return key.reset();
+        final WatchKey key = nextKey(watchService);
+        if (key != null) {
+            final Path at = (Path) key.watchable();
+            for (WatchEvent<?> pollEvent : key.pollEvents()) {
+                //noinspection unchecked
+                WatchEvent<Path> event = (WatchEvent<Path>) pollEvent;
+
+                final Path resolved = at.resolve(event.context()); // the file that changed
+                final @Nullable Set<FileWatcher> fileWatchers = watchers.get(resolved);
+                if (fileWatchers == null) {
+                    continue; // other events in this key may still be for watched files
+                }
+                for (FileWatcher fileWatcher : fileWatchers) {
+                    dispatch(fileWatcher, event);
+                }
             }
-            for (FileWatcher fileWatcher : fileWatchers) {
-                fileWatcher.getOnModify().accept(event);
+        }
+        deliverPendingEvents();
+        return key == null || key.reset();
+    }
+
+    /**
+     * Waits for the next key, but no longer than the next debounced event is due
+     */
+    private @Nullable WatchKey nextKey(@NotNull WatchService watchService) throws InterruptedException {
+        if (pendingEvents.isEmpty()) {
+            return watchService.take();
+        }
+        long nextDeadline = Long.MAX_VALUE;
+        for (PendingEvent pending : pendingEvents.values()) {
+            nextDeadline = Math.min(nextDeadline, pending.deadline);
+        }
+        long wait = nextDeadline - System.nanoTime();
+        if (wait <= 0) {
+            return watchService.poll();
+        }
+        return watchService.poll(wait, TimeUnit.NANOSECONDS);
+    }
+
+    private void dispatch(@NotNull FileWatcher fileWatcher, @NotNull WatchEvent<Path> event) {
+        long debounce = fileWatcher.getDebounce().toNanos();
+        if (debounce == 0) {
+            fileWatcher.getOnModify().accept(event);
+            return;
+        }
+        // each new event pushes the deadline back, so a burst only results in a single call
+        pendingEvents.put(fileWatcher, new PendingEvent(event, System.nanoTime() + debounce));
+    }
+
+    private void deliverPendingEvents() {
+        if (pendingEvents.isEmpty()) {
+            return;
+        }
+        long now = System.nanoTime();
+        Iterator<Map.Entry<FileWatcher, PendingEvent>> iterator = pendingEvents.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<FileWatcher, PendingEvent> entry = iterator.next();
+            if (entry.getValue().deadline - now > 0) {
+                continue;
+            }
+            iterator.remove();
+            FileWatcher fileWatcher = entry.getKey();
+            Set<FileWatcher> current = watchers.get(fileWatcher.getWatching());
+            if (current != null && current.contains(fileWatcher)) { // it may have been removed while waiting
+                fileWatcher.getOnModify().accept(entry.getValue().event);
             }
         }
-        return key.reset();
+    }
+
+    private static final class PendingEvent {
+        private final WatchEvent<Path> event;
+        private final long deadline;
+
+        private PendingEvent(WatchEvent<Path> event, long deadline) {
+            this.event = event;
+            this.deadline = deadline;
+        }
     }
 }
@@ -0,0 +1,95 @@
+package me.bristermitten.mittenlib.config;
+
+import com.google.gson.reflect.TypeToken;
+import me.bristermitten.mittenlib.collections.Maps;
+import me.bristermitten.mittenlib.config.reader.ObjectMapper;
+import me.bristermitten.mittenlib.config.tree.DataTree;
+import me.bristermitten.mittenlib.util.MultipleFailuresException;
+import me.bristermitten.mittenlib.util.Result;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CollectionsUtilsTest {
+    /**
+     * DataTree input should never need the mapper
+     */
+    private static final ObjectMapper FAILING_MAPPER = new ObjectMapper() {
+        @Override
+        public <T> Result<T> map(Object data, TypeToken<T> type) {
+            throw new AssertionError("ObjectMapper should not be used");
+        }
+
+        @Override
+        public Object map(Object value) {
+            throw new AssertionError("ObjectMapper should not be used");
+        }
+    };
+    private static final DeserializationContext CONTEXT = new DeserializationContext(FAILING_MAPPER, DataTree.null_());
+    private static final DeserializationFunction<Long> AS_LONG = context -> Result.runCatching(() -> context.getData().asLong());
+
+    @Test
+    void deserializeList_readsArraysDirectly() {
+        DataTree data = DataTree.array(DataTree.integer(1), DataTree.integer(2), DataTree.integer(3));
+
+        assertThat(CollectionsUtils.deserializeList(data, CONTEXT, AS_LONG).getOrThrow())
+                .containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void deserializeList_reportsEveryFailure() {
+        DataTree data = DataTree.array(DataTree.string("a"), DataTree.integer(2), DataTree.string("b"));
+
+        Result<List<Long>> result = CollectionsUtils.deserializeList(data, CONTEXT, AS_LONG);
+
+        assertThat(result.error()).get()
+                .isInstanceOfSatisfying(MultipleFailuresException.class, e -> assertThat(e.getFailures()).hasSize(2));
+    }
+
+    @Test
+    void deserializeList_failFastStopsAtTheFirstFailure() {
+        DataTree data = DataTree.array(DataTree.integer(1), DataTree.string("a"), DataTree.string("b"));
+        AtomicInteger calls = new AtomicInteger();
+        DeserializationFunction<Long> counting = context -> {
+            calls.incrementAndGet();
+            return AS_LONG.apply(context);
+        };
+        var failFast = new DeserializationContext(FAILING_MAPPER, DataTree.null_(), DeserializationErrorMode.FAIL_FAST);
+
+        Result<List<Long>> result = CollectionsUtils.deserializeList(data, failFast, counting);
+
+        assertThat(result.error()).get().isInstanceOf(UnsupportedOperationException.class);
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void deserializeMap_convertsKeysDirectly() {
+        DataTree data = DataTree.map(Maps.of(
+                DataTree.string("1"), DataTree.integer(10),
+                DataTree.integer(2), DataTree.integer(20)
+        ));
+
+        assertThat(CollectionsUtils.deserializeMap(Integer.class, data, CONTEXT, AS_LONG).getOrThrow())
+                .containsExactlyInAnyOrderEntriesOf(Map.of(1, 10L, 2, 20L));
+        assertThat(CollectionsUtils.deserializeMap(String.class, data, CONTEXT, AS_LONG).getOrThrow())
+                .containsExactlyInAnyOrderEntriesOf(Map.of("1", 10L, "2", 20L));
+    }
+
+    @Test
+    void deserializeMap_convertsEnumAndUUIDKeys() {
+        UUID uuid = UUID.randomUUID();
+        DataTree enumData = DataTree.map(Maps.of(DataTree.string("SECONDS"), DataTree.integer(1)));
+        DataTree uuidData = DataTree.map(Maps.of(DataTree.string(uuid.toString()), DataTree.integer(1)));
+
+        assertThat(CollectionsUtils.deserializeMap(TimeUnit.class, enumData, CONTEXT, AS_LONG).getOrThrow())
+                .containsExactlyEntriesOf(Map.of(TimeUnit.SECONDS, 1L));
+        assertThat(CollectionsUtils.deserializeMap(UUID.class, uuidData, CONTEXT, AS_LONG).getOrThrow())
+                .containsExactlyEntriesOf(Map.of(uuid, 1L));
+    }
+}
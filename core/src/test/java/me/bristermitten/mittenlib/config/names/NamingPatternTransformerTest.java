@@ -55,4 +55,20 @@ class NamingPatternTransformerTest {
         assertThat(format("helloWorld", UPPER_KEBAB_CASE)).isEqualTo("Hello-World");
         assertThat(format("hello", UPPER_KEBAB_CASE)).isEqualTo("Hello");
     }
-}
\ No newline at end of file
+
+    @Test
+    void assertThat_acronyms_areSeparateWords() {
+        assertThat(format("someXMLValue", LOWER_SNAKE_CASE)).isEqualTo("some_xml_value");
+        assertThat(format("XMLParser", LOWER_KEBAB_CASE)).isEqualTo("xml-parser");
+        assertThat(format("parseXML", UPPER_SNAKE_CASE)).isEqualTo("Parse_XML");
+        assertThat(format("XMLParser", LOWER_CAMEL_CASE)).isEqualTo("xMLParser");
+    }
+
+    @Test
+    void assertThat_repeatedCalls_returnTheSameResult() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(format("helloWorld", LOWER_SNAKE_CASE)).isEqualTo("hello_world");
+            assertThat(format("helloWorld", UPPER_KEBAB_CASE)).isEqualTo("Hello-World");
+        }
+    }
+}
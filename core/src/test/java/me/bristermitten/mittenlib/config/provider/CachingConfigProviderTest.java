@@ -0,0 +1,201 @@
+package me.bristermitten.mittenlib.config.provider;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.Checksum;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachingConfigProviderTest {
+
+    @TempDir
+    Path directory;
+
+    private static ConfigProvider<String> reading(Path path, AtomicInteger loads) {
+        return new ConfigProvider<>() {
+            @Override
+            public String get() {
+                loads.incrementAndGet();
+                try {
+                    return Files.readString(path);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            @Override
+            public Optional<Path> path() {
+                return Optional.of(path);
+            }
+        };
+    }
+
+    private static ConfigProvider<String> checksumming(Path path, AtomicInteger loads, Runnable beforeRead) {
+        return new ChecksummingConfigProvider<>() {
+            @Override
+            public String get(Checksum checksum) {
+                beforeRead.run();
+                loads.incrementAndGet();
+                try {
+                    byte[] contents = Files.readAllBytes(path);
+                    checksum.update(contents, 0, contents.length);
+                    return new String(contents, StandardCharsets.UTF_8);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            @Override
+            public String get() {
+                return get(new CRC32());
+            }
+
+            @Override
+            public Optional<Path> path() {
+                return Optional.of(path);
+            }
+        };
+    }
+
+    private static Runnable changeOnce(Path path, String contents) {
+        AtomicBoolean changed = new AtomicBoolean();
+        return () -> {
+            if (changed.compareAndSet(false, true)) {
+                try {
+                    Files.writeString(path, contents);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+
+    @Test
+    void invalidateSkipsReloadWhenContentsAreUnchanged() throws IOException {
+        Path path = Files.writeString(directory.resolve("config.yml"), "a: 1");
+        AtomicInteger loads = new AtomicInteger();
+        CachingConfigProvider<String> provider = new CachingConfigProvider<>(reading(path, loads));
+
+        assertThat(provider.get()).isEqualTo("a: 1");
+        provider.invalidate();
+        Files.writeString(path, "a: 1"); // touched, but the same contents
+        provider.invalidate();
+        assertThat(provider.get()).isEqualTo("a: 1");
+        assertThat(loads).hasValue(1);
+
+        Files.writeString(path, "a: 2");
+        provider.invalidate();
+        provider.invalidate();
+        assertThat(provider.get()).isEqualTo("a: 2");
+        assertThat(provider.get()).isEqualTo("a: 2");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void clearCacheAlwaysReloads() throws IOException {
+        Path path = Files.writeString(directory.resolve("config.yml"), "a: 1");
+        AtomicInteger loads = new AtomicInteger();
+        CachingConfigProvider<String> provider = new CachingConfigProvider<>(reading(path, loads));
+
+        provider.get();
+        provider.clearCache();
+        provider.get();
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void backgroundReloadSwapsWhenReady() throws IOException {
+        Path path = Files.writeString(directory.resolve("config.yml"), "a: 1");
+        AtomicInteger loads = new AtomicInteger();
+        List<Runnable> tasks = new ArrayList<>();
+        CachingConfigProvider<String> provider = new CachingConfigProvider<>(reading(path, loads), tasks::add);
+        List<String> reloaded = new ArrayList<>();
+        provider.addReloadListener(reloaded::add);
+
+        assertThat(provider.get()).isEqualTo("a: 1");
+
+        Files.writeString(path, "a: 2");
+        provider.invalidate();
+        CompletableFuture<String> future = provider.reload(); // joins the already queued reload
+        assertThat(tasks).hasSize(1);
+        assertThat(provider.get()).isEqualTo("a: 1");
+        assertThat(future).isNotDone();
+
+        tasks.remove(0).run();
+        assertThat(future).isCompletedWithValue("a: 2");
+        assertThat(provider.get()).isEqualTo("a: 2");
+        assertThat(reloaded).containsExactly("a: 2");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void failedBackgroundReloadKeepsPreviousConfig() throws IOException {
+        Path path = Files.writeString(directory.resolve("config.yml"), "a: 1");
+        AtomicInteger loads = new AtomicInteger();
+        List<Runnable> tasks = new ArrayList<>();
+        CachingConfigProvider<String> provider = new CachingConfigProvider<>(reading(path, loads), tasks::add);
+        provider.get();
+
+        Files.delete(path);
+        CompletableFuture<String> future = provider.reload();
+        tasks.remove(0).run();
+
+        assertThat(future).isCompletedExceptionally();
+        assertThat(provider.get()).isEqualTo("a: 1");
+    }
+
+    @Test
+    void checksumIsTakenFromTheLoadedContents() throws IOException {
+        Path path = Files.writeString(directory.resolve("config.yml"), "a: 1");
+        AtomicInteger loads = new AtomicInteger();
+        // the file changes from A to B just before it is loaded
+        CachingConfigProvider<String> provider = new CachingConfigProvider<>(checksumming(path, loads, changeOnce(path, "a: 2")));
+
+        assertThat(provider.get()).isEqualTo("a: 2");
+
+        Files.writeString(path, "a: 1");
+        provider.invalidate();
+        assertThat(provider.get()).isEqualTo("a: 1");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void changesWhileLoadingAlwaysReload() throws IOException {
+        Path path = Files.writeString(directory.resolve("config.yml"), "a: 1");
+        AtomicInteger loads = new AtomicInteger();
+        Runnable change = changeOnce(path, "a: 2");
+        ConfigProvider<String> reading = reading(path, loads);
+        CachingConfigProvider<String> provider = new CachingConfigProvider<>(new ConfigProvider<>() {
+            @Override
+            public String get() {
+                change.run();
+                return reading.get();
+            }
+
+            @Override
+            public Optional<Path> path() {
+                return reading.path();
+            }
+        });
+
+        assertThat(provider.get()).isEqualTo("a: 2");
+
+        Files.writeString(path, "a: 1");
+        provider.invalidate();
+        assertThat(provider.get()).isEqualTo("a: 1");
+        assertThat(loads).hasValue(2);
+    }
+}
@@ -0,0 +1,79 @@
+package me.bristermitten.mittenlib.config.provider;
+
+import me.bristermitten.mittenlib.util.MultipleFailuresException;
+import me.bristermitten.mittenlib.util.Result;
+import me.bristermitten.mittenlib.util.Unit;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConfigProvidersTest {
+
+    private static <T> ConfigProvider<T> provider(Supplier<T> supplier) {
+        return new ConfigProvider<>() {
+            @Override
+            public T get() {
+                return supplier.get();
+            }
+
+            @Override
+            public Optional<Path> path() {
+                return Optional.empty();
+            }
+        };
+    }
+
+    @Test
+    void loadsConfigsInParallel() {
+        var latch = new CountDownLatch(2);
+        Supplier<String> awaitOther = () -> {
+            latch.countDown();
+            try {
+                // only completes if both providers are loading at the same time
+                assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            return "loaded";
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Result<Unit> result = ConfigProviders.loadAll(List.of(provider(awaitOther), provider(awaitOther)), executor);
+
+            assertThat(result.isSuccess()).isTrue();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void reportsEveryFailure() {
+        var first = new IllegalStateException("first");
+        var second = new IllegalArgumentException("second");
+
+        Result<Unit> result = ConfigProviders.loadAll(List.of(
+                provider(() -> {
+                    throw first;
+                }),
+                provider(() -> "fine"),
+                provider(() -> {
+                    throw second;
+                })
+        ));
+
+        assertThat(result.isFailure()).isTrue();
+        assertThat(result.error()).get()
+                .isInstanceOfSatisfying(MultipleFailuresException.class, e ->
+                        assertThat(e.getFailures()).containsExactly(first, second));
+    }
+}
@@ -0,0 +1,79 @@
+package me.bristermitten.mittenlib.config.provider;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.CacheBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EvictingConfigProviderTest {
+
+    private static ConfigProvider<Integer> counting(AtomicInteger loads) {
+        return new ConfigProvider<>() {
+            @Override
+            public Integer get() {
+                return loads.incrementAndGet();
+            }
+
+            @Override
+            public Optional<Path> path() {
+                return Optional.empty();
+            }
+        };
+    }
+
+    @Test
+    void leastRecentlyUsedConfigIsEvicted() {
+        ConfigCache cache = ConfigCache.create(1, 1, TimeUnit.HOURS);
+        AtomicInteger firstLoads = new AtomicInteger();
+        AtomicInteger secondLoads = new AtomicInteger();
+        EvictingConfigProvider<Integer> first = new EvictingConfigProvider<>(counting(firstLoads), cache);
+        EvictingConfigProvider<Integer> second = new EvictingConfigProvider<>(counting(secondLoads), cache);
+
+        assertThat(first.get()).isEqualTo(1);
+        assertThat(first.get()).isEqualTo(1);
+        assertThat(second.get()).isEqualTo(1);
+        assertThat(cache.size()).isEqualTo(1);
+
+        assertThat(first.get()).isEqualTo(2); // reloaded after being evicted
+    }
+
+    @Test
+    void configsExpireAfterAccess() {
+        AtomicLong time = new AtomicLong();
+        Ticker ticker = new Ticker() {
+            @Override
+            public long read() {
+                return time.get();
+            }
+        };
+        ConfigCache cache = new ConfigCache(CacheBuilder.newBuilder()
+                .ticker(ticker)
+                .expireAfterAccess(1, TimeUnit.MINUTES));
+        AtomicInteger loads = new AtomicInteger();
+        EvictingConfigProvider<Integer> provider = new EvictingConfigProvider<>(counting(loads), cache);
+
+        provider.get();
+        time.addAndGet(TimeUnit.SECONDS.toNanos(59));
+        assertThat(provider.get()).isEqualTo(1);
+        time.addAndGet(TimeUnit.SECONDS.toNanos(61));
+        assertThat(provider.get()).isEqualTo(2);
+    }
+
+    @Test
+    void invalidateReloads() {
+        ConfigCache cache = ConfigCache.create(10, 1, TimeUnit.HOURS);
+        AtomicInteger loads = new AtomicInteger();
+        EvictingConfigProvider<Integer> provider = new EvictingConfigProvider<>(counting(loads), cache);
+
+        provider.get();
+        provider.invalidate();
+        assertThat(provider.get()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,107 @@
+package me.bristermitten.mittenlib.config.reader;
+
+import me.bristermitten.mittenlib.config.tree.DataTree;
+import me.bristermitten.mittenlib.files.yaml.YamlObjectLoader;
+import me.bristermitten.mittenlib.util.Result;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.yaml.snakeyaml.Yaml;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SnapshottingObjectLoaderTest {
+    private static final String DOCUMENT = """
+            name: test
+            port: 25565
+            ratio: -0.5
+            enabled: true
+            nothing: null
+            big: -9223372036854775808
+            items:
+              - {id: 1, name: "ä"}
+              - {id: 2, name: "ä"}
+            ? {a: 1}
+            : complex key
+            """;
+
+    @TempDir
+    Path directory;
+
+    private final AtomicInteger parses = new AtomicInteger();
+    private SnapshottingObjectLoader loader;
+    private Path config;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        YamlObjectLoader yaml = new YamlObjectLoader(new Yaml());
+        ObjectLoader counting = new ObjectLoader() {
+            @Override
+            public @NotNull Result<@NotNull DataTree> load(@NotNull Reader source) {
+                parses.incrementAndGet();
+                return yaml.load(source);
+            }
+        };
+        loader = new SnapshottingObjectLoader(counting, directory.resolve("snapshots"));
+        config = directory.resolve("config.yml");
+        Files.writeString(config, DOCUMENT);
+    }
+
+    @Test
+    void unchangedFilesAreReadFromTheSnapshot() {
+        DataTree parsed = loader.load(config).getOrThrow();
+        DataTree snapshot = loader.load(config).getOrThrow();
+
+        assertThat(parses).hasValue(1);
+        assertThat(snapshot).isEqualTo(parsed);
+        assertThat(snapshot).isEqualTo(new YamlObjectLoader(new Yaml()).load(DOCUMENT).getOrThrow());
+    }
+
+    @Test
+    void changedFilesAreParsedAgain() throws IOException {
+        loader.load(config).getOrThrow();
+        Files.writeString(config, "name: changed");
+
+        assertThat(loader.load(config).getOrThrow().get("name")).isEqualTo(DataTree.string("changed"));
+        assertThat(parses).hasValue(2);
+        assertThat(loader.load(config).getOrThrow().get("name")).isEqualTo(DataTree.string("changed"));
+        assertThat(parses).hasValue(2);
+    }
+
+    @Test
+    void corruptSnapshotsAreIgnored() throws IOException {
+        loader.load(config).getOrThrow();
+        try (var snapshots = Files.list(directory.resolve("snapshots"))) {
+            for (Path snapshot : snapshots.toList()) {
+                byte[] bytes = Files.readAllBytes(snapshot);
+                Files.write(snapshot, Arrays.copyOf(bytes, bytes.length / 2));
+            }
+        }
+
+        assertThat(loader.load(config).getOrThrow().get("port")).isEqualTo(DataTree.integer(25565));
+        assertThat(parses).hasValue(2);
+    }
+
+    @Test
+    void snapshotsFailingTheChecksumAreIgnored() throws IOException {
+        loader.load(config).getOrThrow();
+        try (var snapshots = Files.list(directory.resolve("snapshots"))) {
+            for (Path snapshot : snapshots.toList()) {
+                byte[] bytes = Files.readAllBytes(snapshot);
+                bytes[bytes.length - 1] ^= 1;
+                Files.write(snapshot, bytes);
+            }
+        }
+
+        assertThat(loader.load(config).getOrThrow()).isEqualTo(new YamlObjectLoader(new Yaml()).load(DOCUMENT).getOrThrow());
+        assertThat(parses).hasValue(2);
+    }
+}
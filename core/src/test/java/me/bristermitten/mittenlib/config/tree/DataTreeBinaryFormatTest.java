@@ -0,0 +1,61 @@
+package me.bristermitten.mittenlib.config.tree;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DataTreeBinaryFormatTest {
+    private static final int TAG_STRING = 5;
+    private static final int TAG_ARRAY = 7;
+    private static final int TAG_MAP = 8;
+
+    private static byte[] write(DataTree tree) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataTreeBinaryFormat.write(tree, new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+
+    private static DataTree read(byte[] bytes) throws IOException {
+        return DataTreeBinaryFormat.read(new DataInputStream(new ByteArrayInputStream(bytes)), bytes.length);
+    }
+
+    @Test
+    void roundTrips() throws IOException {
+        CompactDataTreeMap values = new CompactDataTreeMap(2);
+        values.put(DataTree.string("name"), DataTree.string("test"));
+        values.put(DataTree.string("items"), DataTree.array(DataTree.integer(-1), DataTree.floating(0.5), DataTree.string("test")));
+        DataTree tree = DataTree.map(values);
+
+        assertThat(read(write(tree))).isEqualTo(tree);
+    }
+
+    @Test
+    void rejectsLengthsLongerThanTheInput() {
+        // a varint of Integer.MAX_VALUE
+        byte[] maxLength = {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07};
+        for (int tag : new int[]{TAG_STRING, TAG_ARRAY, TAG_MAP}) {
+            byte[] bytes = new byte[maxLength.length + 1];
+            bytes[0] = (byte) tag;
+            System.arraycopy(maxLength, 0, bytes, 1, maxLength.length);
+
+            assertThatThrownBy(() -> read(bytes)).isInstanceOf(IOException.class).hasMessageContaining("Invalid length");
+        }
+    }
+
+    @Test
+    void doesNotReadPastTheGivenLength() throws IOException {
+        byte[] bytes = write(DataTree.string("hello"));
+
+        assertThatThrownBy(() -> DataTreeBinaryFormat.read(new DataInputStream(new ByteArrayInputStream(bytes)), bytes.length - 1))
+                .isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> read(Arrays.copyOf(bytes, bytes.length - 1))).isInstanceOf(IOException.class);
+    }
+}
@@ -0,0 +1,123 @@
+package me.bristermitten.mittenlib.config.tree;
+
+import com.google.gson.stream.JsonReader;
+import net.jqwik.api.ForAll;
+import net.jqwik.api.Property;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DataTreeTest {
+
+    @Property
+    void keyLookupMatchesStringLookup(@ForAll Map<String, Integer> values, @ForAll String key) {
+        Map<DataTree, DataTree> map = new LinkedHashMap<>();
+        values.forEach((k, v) -> map.put(DataTree.string(k), DataTree.integer(v)));
+        DataTree tree = DataTree.map(map);
+
+        assertThat(tree.get(DataTree.key(key))).isEqualTo(tree.get(key));
+    }
+
+    @Test
+    void keyLookupOnNonMap() {
+        assertThat(DataTree.string("a").get(DataTree.key("a"))).isNull();
+        assertThat(DataTree.null_().getOrDefault(DataTree.key("a"), 1)).isEqualTo(1);
+    }
+
+    @Property
+    void compactMapBehavesLikeLinkedHashMap(@ForAll List<String> keys, @ForAll List<String> removals) {
+        Map<DataTree, DataTree> expected = new LinkedHashMap<>();
+        Map<DataTree, DataTree> compact = new CompactDataTreeMap();
+        for (int i = 0; i < keys.size(); i++) {
+            DataTree key = DataTree.string(keys.get(i));
+            assertThat(compact.put(key, DataTree.integer(i))).isEqualTo(expected.put(key, DataTree.integer(i)));
+        }
+        for (String removal : removals) {
+            DataTree key = DataTree.string(removal);
+            assertThat(compact.remove(key)).isEqualTo(expected.remove(key));
+        }
+
+        assertThat(compact).isEqualTo(expected);
+        assertThat(compact.hashCode()).isEqualTo(expected.hashCode());
+        assertThat(new ArrayList<>(compact.keySet())).containsExactlyElementsOf(expected.keySet());
+        for (String key : keys) {
+            assertThat(compact.get(DataTree.string(key))).isEqualTo(expected.get(DataTree.string(key)));
+        }
+    }
+
+    @Property
+    void compactMapIteratorRemovalBehavesLikeLinkedHashMap(@ForAll List<String> keys, @ForAll int seed) {
+        Map<DataTree, DataTree> expected = new LinkedHashMap<>();
+        Map<DataTree, DataTree> compact = new CompactDataTreeMap();
+        for (int i = 0; i < keys.size(); i++) {
+            DataTree key = DataTree.string(keys.get(i));
+            expected.put(key, DataTree.integer(i));
+            compact.put(key, DataTree.integer(i));
+        }
+        Predicate<DataTree> removed = key -> ((key.hashCode() ^ seed) & 1) == 0;
+        expected.keySet().removeIf(removed);
+        compact.keySet().removeIf(removed);
+
+        assertThat(new ArrayList<>(compact.entrySet())).containsExactlyElementsOf(expected.entrySet());
+        for (String key : keys) {
+            assertThat(compact.get(DataTree.string(key))).isEqualTo(expected.get(DataTree.string(key)));
+        }
+    }
+
+    @Test
+    void compactMapIteratorsFailFast() {
+        Map<DataTree, DataTree> compact = new CompactDataTreeMap();
+        for (int i = 0; i < CompactDataTreeMap.LINEAR_THRESHOLD * 2; i++) {
+            compact.put(DataTree.integer(i), DataTree.integer(i));
+        }
+        Iterator<DataTree> iterator = compact.keySet().iterator();
+        iterator.next();
+        compact.remove(DataTree.integer(5));
+
+        assertThatThrownBy(iterator::next).isInstanceOf(ConcurrentModificationException.class);
+    }
+
+    @Property
+    void integerCacheKeepsEquality(@ForAll long value) {
+        assertThat(DataTree.integer(value)).isEqualTo(DataTree.integer(value));
+        assertThat(DataTree.integer(value).asLong()).isEqualTo(value);
+    }
+
+    @Test
+    void smallIntegersAreShared() {
+        assertThat(DataTree.integer(5)).isSameAs(DataTree.integer(5));
+        assertThat(DataTree.bool(true)).isSameAs(DataTree.bool(true));
+    }
+
+    @Test
+    void primitiveAccessors() {
+        assertThat(DataTree.integer(3).asDouble()).isEqualTo(3.0);
+        assertThat(DataTree.floating(1.5).asDouble()).isEqualTo(1.5);
+        assertThat(DataTree.bool(false).asBoolean()).isFalse();
+        assertThatThrownBy(() -> DataTree.string("3").asLong()).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void readsJsonNumbers() throws IOException {
+        assertThat(read("12")).isEqualTo(DataTree.integer(12));
+        assertThat(read("5000000000")).isEqualTo(DataTree.integer(5000000000L));
+        assertThat(read("1.0")).isEqualTo(DataTree.integer(1));
+        assertThat(read("1.5")).isEqualTo(DataTree.floating(1.5));
+        assertThat(read("-2e3")).isEqualTo(DataTree.integer(-2000));
+    }
+
+    private static DataTree read(String json) throws IOException {
+        return DataTreeTypeAdapter.readTree(new JsonReader(new StringReader(json)));
+    }
+}
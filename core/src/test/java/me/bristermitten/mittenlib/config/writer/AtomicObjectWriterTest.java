@@ -0,0 +1,167 @@
+package me.bristermitten.mittenlib.config.writer;
+
+import me.bristermitten.mittenlib.config.tree.DataTree;
+import me.bristermitten.mittenlib.files.yaml.YamlObjectLoader;
+import me.bristermitten.mittenlib.files.yaml.YamlObjectWriter;
+import me.bristermitten.mittenlib.util.Result;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.yaml.snakeyaml.Yaml;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class AtomicObjectWriterTest {
+    private static final Yaml YAML = new Yaml();
+
+    @TempDir
+    Path tempDir;
+
+    private static DataTree tree(int value) {
+        return DataTree.map(Map.of(DataTree.string("value"), DataTree.integer(value)));
+    }
+
+    private static DataTree read(Path path) {
+        return new YamlObjectLoader(YAML).load(path).getOrThrow();
+    }
+
+    private long fileCount() throws IOException {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.count();
+        }
+    }
+
+    @Test
+    void writeReplacesFile() throws IOException {
+        Path file = tempDir.resolve("config.yml");
+        Files.writeString(file, "value: 0\n");
+        AtomicObjectWriter writer = new AtomicObjectWriter(new YamlObjectWriter(YAML), Runnable::run, true);
+
+        writer.write(tree(1), file).getOrThrow();
+
+        assertThat(read(file)).isEqualTo(tree(1));
+        assertThat(fileCount()).isEqualTo(1); // no temporary files left behind
+    }
+
+    @Test
+    void writeKeepsPermissions() throws IOException {
+        assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"));
+        Path file = tempDir.resolve("config.yml");
+        Files.writeString(file, "value: 0\n");
+        Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rw-rw-r--");
+        Files.setPosixFilePermissions(file, permissions);
+        AtomicObjectWriter writer = new AtomicObjectWriter(new YamlObjectWriter(YAML), Runnable::run, true);
+
+        writer.write(tree(1), file).getOrThrow();
+
+        assertThat(Files.getPosixFilePermissions(file)).isEqualTo(permissions);
+    }
+
+    @Test
+    void writeReplacesSymlinkTarget() throws IOException {
+        Path real = tempDir.resolve("real.yml");
+        Files.writeString(real, "value: 0\n");
+        Path link = tempDir.resolve("config.yml");
+        try {
+            Files.createSymbolicLink(link, real);
+        } catch (UnsupportedOperationException | IOException e) {
+            assumeTrue(false, "Symbolic links are not supported");
+        }
+        AtomicObjectWriter writer = new AtomicObjectWriter(new YamlObjectWriter(YAML), Runnable::run, false);
+
+        writer.write(tree(1), link).getOrThrow();
+
+        assertThat(Files.isSymbolicLink(link)).isTrue();
+        assertThat(read(real)).isEqualTo(tree(1));
+    }
+
+    @Test
+    void failedWriteKeepsOldFile() throws IOException {
+        Path file = tempDir.resolve("config.yml");
+        Files.writeString(file, "value: 0\n");
+        ObjectWriter failing = new ObjectWriter() {
+            @Override
+            public @NotNull Result<Void> write(@NotNull DataTree tree, @NotNull Writer output) {
+                return Result.runCatching(() -> {
+                    output.write("value: ");
+                    throw new IOException("Disk full");
+                });
+            }
+        };
+        AtomicObjectWriter writer = new AtomicObjectWriter(failing, Runnable::run, false);
+
+        assertThat(writer.write(tree(1), file).isFailure()).isTrue();
+
+        assertThat(Files.readString(file)).isEqualTo("value: 0\n");
+        assertThat(fileCount()).isEqualTo(1);
+    }
+
+    @Test
+    void writeAsyncCoalescesPendingWrites() {
+        Path file = tempDir.resolve("config.yml");
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        AtomicObjectWriter writer = new AtomicObjectWriter(new YamlObjectWriter(YAML), tasks::add, false);
+
+        CompletableFuture<Void> first = writer.writeAsync(tree(1), file);
+        CompletableFuture<Void> second = writer.writeAsync(tree(2), file);
+        CompletableFuture<Void> third = writer.writeAsync(tree(3), file);
+
+        assertThat(tasks).hasSize(1);
+        assertThat(second).isSameAs(first);
+        assertThat(third).isSameAs(first);
+        assertThat(Files.exists(file)).isFalse();
+
+        tasks.remove().run();
+
+        assertThat(first).isCompleted();
+        assertThat(read(file)).isEqualTo(tree(3));
+        assertThat(writer.flush()).isCompleted();
+    }
+
+    @Test
+    void writeAsyncQueuesBehindRunningWrite() {
+        Path file = tempDir.resolve("config.yml");
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        AtomicObjectWriter[] writer = new AtomicObjectWriter[1];
+        CompletableFuture<?>[] queued = new CompletableFuture<?>[1];
+        ObjectWriter delegate = new ObjectWriter() {
+            @Override
+            public @NotNull Result<Void> write(@NotNull DataTree tree, @NotNull Writer output) {
+                if (queued[0] == null) {
+                    // requested while the first write is running
+                    queued[0] = writer[0].writeAsync(tree(2), file);
+                }
+                return new YamlObjectWriter(YAML).write(tree, output);
+            }
+        };
+        writer[0] = new AtomicObjectWriter(delegate, tasks::add, false);
+
+        CompletableFuture<Void> first = writer[0].writeAsync(tree(1), file);
+        tasks.remove().run();
+
+        assertThat(first).isCompleted();
+        assertThat(queued[0]).isNotSameAs(first).isNotCompleted();
+        assertThat(read(file)).isEqualTo(tree(1));
+        assertThat(tasks).hasSize(1);
+
+        tasks.remove().run();
+
+        assertThat(queued[0]).isCompleted();
+        assertThat(read(file)).isEqualTo(tree(2));
+    }
+}
@@ -0,0 +1,89 @@
+package me.bristermitten.mittenlib.files;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappedFileTest {
+
+    @TempDir
+    Path directory;
+
+    private static String read(MappedFile file) throws IOException {
+        try (Reader reader = file.open().getOrThrow()) {
+            StringWriter writer = new StringWriter();
+            reader.transferTo(writer);
+            return writer.toString();
+        }
+    }
+
+    @Test
+    void readsContents() throws IOException {
+        Path path = directory.resolve("config.yml");
+        Files.writeString(path, "key: välue ✓", StandardCharsets.UTF_8);
+        MappedFile file = new MappedFile(path);
+
+        assertThat(read(file)).isEqualTo("key: välue ✓");
+        assertThat(read(file)).isEqualTo("key: välue ✓");
+    }
+
+    @Test
+    void remapsChangedFiles() throws IOException {
+        Path path = directory.resolve("config.yml");
+        Files.writeString(path, "a: 1");
+        MappedFile file = new MappedFile(path);
+        assertThat(read(file)).isEqualTo("a: 1");
+
+        Files.writeString(path, "a: 1\nb: 2");
+        assertThat(read(file)).isEqualTo("a: 1\nb: 2");
+
+        Files.writeString(path, "c: 3");
+        Files.setLastModifiedTime(path, FileTime.fromMillis(0));
+        assertThat(read(file)).isEqualTo("c: 3");
+    }
+
+    @Test
+    void readsEmptyFiles() throws IOException {
+        Path path = Files.createFile(directory.resolve("empty.json"));
+
+        assertThat(read(new MappedFile(path))).isEmpty();
+    }
+
+    @Test
+    @DisabledOnOs(value = OS.WINDOWS, disabledReason = "Mapped files can't be truncated on Windows")
+    void readsFilesTruncatedWhileReading() throws IOException {
+        Path path = directory.resolve("config.yml");
+        Files.writeString(path, "a".repeat(64 * 1024));
+        MappedFile file = new MappedFile(path);
+
+        try (Reader reader = file.open().getOrThrow()) {
+            char[] start = new char[10];
+            assertThat(reader.read(start)).isEqualTo(10);
+
+            // truncate and rewrite in place, so the rest of the mapping is past the end of the file
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.truncate(0);
+                channel.write(ByteBuffer.wrap("b".repeat(20 * 1024).getBytes(StandardCharsets.UTF_8)));
+            }
+            StringWriter rest = new StringWriter();
+            reader.transferTo(rest);
+            assertThat(rest.toString()).hasSizeLessThanOrEqualTo(20 * 1024 - 10).matches("[ab]*");
+        }
+
+        assertThat(read(file)).isEqualTo("b".repeat(20 * 1024));
+    }
+}
@@ -0,0 +1,74 @@
+package me.bristermitten.mittenlib.files.json;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import me.bristermitten.mittenlib.config.tree.DataTree;
+import me.bristermitten.mittenlib.config.tree.DataTreeTypeAdapterFactory;
+import me.bristermitten.mittenlib.config.tree.LazyJsonDataTreeMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LazyGsonObjectLoaderTest {
+    private static final String DOCUMENT = """
+            {
+              "name": "test\\u0021",
+              "port": 25565,
+              "ratio": 0.5,
+              "enabled": true,
+              "nothing": null,
+              "tags": ["a", {"b": [1, 2]}],
+              "nested": {"deep": {"value": -1e3}, "empty": {}},
+              "name": "overwritten"
+            }
+            """;
+
+    private GsonObjectLoader eager;
+    private LazyGsonObjectLoader lazy;
+
+    @BeforeEach
+    void setUp() {
+        Gson gson = new GsonBuilder().registerTypeAdapterFactory(new DataTreeTypeAdapterFactory()).create();
+        eager = new GsonObjectLoader(gson);
+        lazy = new LazyGsonObjectLoader(gson);
+    }
+
+    @Test
+    void loadsTheSameTreeAsGson() {
+        DataTree lazyTree = lazy.load(DOCUMENT).getOrThrow();
+        DataTree eagerTree = eager.load(DOCUMENT).getOrThrow();
+
+        assertThat(lazyTree).isEqualTo(eagerTree);
+        assertThat(lazyTree.get("name")).isEqualTo(DataTree.string("overwritten"));
+        assertThat(lazyTree.get(DataTree.key("port"))).isEqualTo(DataTree.integer(25565));
+        assertThat(((DataTree.DataTreeMap) lazyTree).values().keySet())
+                .containsExactlyElementsOf(((DataTree.DataTreeMap) eagerTree).values().keySet());
+    }
+
+    @Test
+    void nestedObjectsAreLazy() {
+        DataTree tree = lazy.load(DOCUMENT).getOrThrow();
+
+        assertThat(((DataTree.DataTreeMap) tree).values()).isInstanceOf(LazyJsonDataTreeMap.class);
+        DataTree nested = tree.get("nested");
+        assertThat(nested).isInstanceOf(DataTree.DataTreeMap.class);
+        assertThat(((DataTree.DataTreeMap) nested).values()).isInstanceOf(LazyJsonDataTreeMap.class);
+        assertThat(nested.get("deep").get("value")).isEqualTo(DataTree.integer(-1000));
+    }
+
+    @Test
+    void lenientDocumentsFallBackToGson() {
+        for (String document : List.of("{a: 1}", "// comment\n{\"a\": 1}", "{'a': 1}")) {
+            assertThat(lazy.load(document).getOrThrow()).isEqualTo(eager.load(document).getOrThrow());
+        }
+    }
+
+    @Test
+    void invalidDocumentsFailWhenLoading() {
+        assertThat(lazy.load("{\"a\": {\"b\": 1").isFailure()).isTrue();
+        assertThat(lazy.load("{\"a\": [1, 2}").isFailure()).isTrue();
+    }
+}
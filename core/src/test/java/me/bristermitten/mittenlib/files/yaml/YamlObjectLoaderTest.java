@@ -6,6 +6,7 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.error.YAMLException;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -63,4 +64,100 @@ class YamlObjectLoaderTest {
         assertThat(load2.get("123abc"))
                 .isEqualTo(new DataTree.DataTreeLiteral.DataTreeLiteralInt(123));
     }
-}
\ No newline at end of file
+
+    @Test
+    void loadResolvesImplicitScalars() {
+        DataTree load = loader.load("a: yes\n" +
+                                    "b: off\n" +
+                                    "c: ~\n" +
+                                    "d: 0x1F\n" +
+                                    "e: 1_000\n" +
+                                    "f: -.inf\n" +
+                                    "g: '123'\n" +
+                                    "h: 2001-12-14")
+                .getOrThrow();
+
+        assertThat(load.get("a")).isEqualTo(new DataTree.DataTreeLiteral.DataTreeLiteralBoolean(true));
+        assertThat(load.get("b")).isEqualTo(new DataTree.DataTreeLiteral.DataTreeLiteralBoolean(false));
+        assertThat(load.get("c")).isEqualTo(DataTree.DataTreeNull.INSTANCE);
+        assertThat(load.get("d")).isEqualTo(new DataTree.DataTreeLiteral.DataTreeLiteralInt(31));
+        assertThat(load.get("e")).isEqualTo(new DataTree.DataTreeLiteral.DataTreeLiteralInt(1000));
+        assertThat(load.get("f")).isEqualTo(new DataTree.DataTreeLiteral.DataTreeLiteralFloat(Double.NEGATIVE_INFINITY));
+        assertThat(load.get("g")).isEqualTo(new DataTree.DataTreeLiteral.DataTreeLiteralString("123"));
+        assertThat(load.get("h")).isEqualTo(new DataTree.DataTreeLiteral.DataTreeLiteralString("2001-12-14"));
+    }
+
+    @Test
+    void loadResolvesAnchorsAndMergeKeys() {
+        DataTree load = loader.load("base: &base { x: 1, y: 2 }\n" +
+                                    "list: [ *base ]\n" +
+                                    "other:\n" +
+                                    "  <<: *base\n" +
+                                    "  y: 3\n")
+                .getOrThrow();
+
+        DataTree base = load.get("base");
+        assertThat(load.get("list"))
+                .isEqualTo(new DataTree.DataTreeArray(new DataTree[]{base}));
+        assertThat(load.get("other"))
+                .isEqualTo(new DataTree.DataTreeMap(
+                        Maps.of(
+                                new DataTree.DataTreeLiteral.DataTreeLiteralString("x"),
+                                new DataTree.DataTreeLiteral.DataTreeLiteralInt(1),
+                                new DataTree.DataTreeLiteral.DataTreeLiteralString("y"),
+                                new DataTree.DataTreeLiteral.DataTreeLiteralInt(3)
+                        )
+                ));
+    }
+
+    @Test
+    void loadEmptyDocument() {
+        assertThat(loader.load("").getOrThrow())
+                .isEqualTo(DataTree.DataTreeNull.INSTANCE);
+    }
+
+    @Test
+    void loadRejectsTooManyCollectionAliases() {
+        String document = billionLaughs();
+
+        assertThat(loader.load(document).error()).get()
+                .isInstanceOf(YAMLException.class)
+                .extracting(Throwable::getMessage).asString().contains("aliases");
+    }
+
+    @Test
+    void loadUsesTheGivenAliasLimit() {
+        YamlObjectLoader limited = new YamlObjectLoader(new Yaml(), 5, 50);
+
+        assertThat(limited.load("a: &a [1]\nb: [*a, *a, *a, *a, *a]").isSuccess()).isTrue();
+        assertThat(limited.load("a: &a [1]\nb: [*a, *a, *a, *a, *a, *a]").isFailure()).isTrue();
+    }
+
+    @Test
+    void loadUsesTheGivenNestingLimit() {
+        YamlObjectLoader limited = new YamlObjectLoader(new Yaml(), 50, 2);
+
+        assertThat(limited.load("a: {b: [[[1]]]}").isSuccess()).isTrue();
+        assertThat(limited.load("a: {b: {c: 1}}").isFailure()).isTrue();
+    }
+
+    @Test
+    void loadRejectsMultipleDocuments() {
+        assertThat(loader.load("a: 1\n---\nb: 2\n").error()).get()
+                .isInstanceOf(YAMLException.class);
+    }
+
+    private static String billionLaughs() {
+        StringBuilder document = new StringBuilder("a: &a [lol, lol, lol]\n");
+        char previous = 'a';
+        for (char c = 'b'; c <= 'j'; c++) {
+            document.append(c).append(": &").append(c).append(" [");
+            for (int i = 0; i < 9; i++) {
+                document.append(i == 0 ? "*" : ", *").append(previous);
+            }
+            document.append("]\n");
+            previous = c;
+        }
+        return document.toString();
+    }
+}
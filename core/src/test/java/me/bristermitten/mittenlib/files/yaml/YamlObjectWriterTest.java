@@ -0,0 +1,90 @@
+package me.bristermitten.mittenlib.files.yaml;
+
+import me.bristermitten.mittenlib.config.tree.DataTree;
+import me.bristermitten.mittenlib.config.tree.DataTreeTransforms;
+import org.junit.jupiter.api.Test;
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.Yaml;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class YamlObjectWriterTest {
+
+    private static DataTree sampleTree() {
+        DataTree.DataTreeLiteral.DataTreeLiteralString shared = DataTree.string("shared");
+        Map<DataTree, DataTree> child = new LinkedHashMap<>();
+        child.put(DataTree.string("a"), DataTree.integer(1));
+        child.put(DataTree.string("b"), shared);
+
+        Map<DataTree, DataTree> root = new LinkedHashMap<>();
+        root.put(DataTree.string("name"), shared);
+        root.put(DataTree.string("number-like"), DataTree.string("123"));
+        root.put(DataTree.string("multiline"), DataTree.string("first\nsecond"));
+        root.put(DataTree.string("ratio"), DataTree.floating(0.5));
+        root.put(DataTree.string("infinite"), DataTree.floating(Double.NEGATIVE_INFINITY));
+        root.put(DataTree.string("enabled"), DataTree.bool(true));
+        root.put(DataTree.string("missing"), DataTree.null_());
+        root.put(DataTree.integer(5), DataTree.array(DataTree.string("x"), DataTree.map(child)));
+        root.put(DataTree.string("child"), DataTree.map(child));
+        return DataTree.map(root);
+    }
+
+    @Test
+    void writeMatchesDumpingPojos() {
+        Yaml yaml = new Yaml();
+        DataTree tree = sampleTree();
+
+        String written = new YamlObjectWriter(yaml).write(tree).getOrThrow();
+
+        assertThat(written).isEqualTo(yaml.dump(DataTreeTransforms.toPOJO(tree)));
+    }
+
+    @Test
+    void writeUsesTheYamlsOwnOptions() {
+        DumperOptions options = new DumperOptions();
+        options.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
+        Yaml yaml = new Yaml(options);
+        DataTree tree = sampleTree();
+
+        String written = new YamlObjectWriter(yaml).write(tree).getOrThrow();
+
+        assertThat(written).isEqualTo(yaml.dump(DataTreeTransforms.toPOJO(tree)));
+    }
+
+    @Test
+    void writeWithDefaultOptionsMatchesDumpingPojos() {
+        DumperOptions options = new DumperOptions();
+        Yaml yaml = new Yaml(options);
+        DataTree tree = sampleTree();
+
+        String written = new YamlObjectWriter(yaml, options).write(tree).getOrThrow();
+
+        assertThat(written).isEqualTo(yaml.dump(DataTreeTransforms.toPOJO(tree)));
+    }
+
+    @Test
+    void writeMatchesDumpingPojosWithCustomOptions() {
+        DumperOptions options = new DumperOptions();
+        options.setDefaultFlowStyle(DumperOptions.FlowStyle.AUTO);
+        options.setIndent(4);
+        Yaml yaml = new Yaml(options);
+        DataTree tree = sampleTree();
+
+        String written = new YamlObjectWriter(yaml, options).write(tree).getOrThrow();
+
+        assertThat(written).isEqualTo(yaml.dump(DataTreeTransforms.toPOJO(tree)));
+    }
+
+    @Test
+    void writeRoundTrips() {
+        Yaml yaml = new Yaml();
+        DataTree tree = sampleTree();
+
+        String written = new YamlObjectWriter(yaml).write(tree).getOrThrow();
+
+        assertThat(new YamlObjectLoader(yaml).load(written).getOrThrow()).isEqualTo(tree);
+    }
+}
@@ -0,0 +1,137 @@
+package me.bristermitten.mittenlib.lang;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import me.bristermitten.mittenlib.lang.format.AbstractMessageFormatter;
+import me.bristermitten.mittenlib.lang.format.MessageFormatter;
+import me.bristermitten.mittenlib.lang.format.hook.FormattingHook;
+import me.bristermitten.mittenlib.lang.format.hook.SimpleFormattingHook;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.audience.MessageType;
+import net.kyori.adventure.identity.Identity;
+import net.kyori.adventure.platform.bukkit.BukkitAudiences;
+import net.kyori.adventure.text.Component;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LangServiceTest {
+    private final Map<CommandSender, RecordingAudience> audiences = new HashMap<>();
+    private final AtomicInteger formats = new AtomicInteger();
+    private LangService langService;
+    private PlayerMock alice;
+    private PlayerMock bob;
+
+    @BeforeEach
+    void setUp() {
+        ServerMock server = MockBukkit.mock();
+        alice = server.addPlayer("Alice");
+        bob = server.addPlayer("Bob");
+
+        BukkitAudiences bukkitAudiences = mock(BukkitAudiences.class);
+        when(bukkitAudiences.sender(any())).thenAnswer(invocation ->
+                audiences.computeIfAbsent(invocation.getArgument(0), sender -> new RecordingAudience()));
+
+        FormattingHook nameHook = new SimpleFormattingHook((message, player) ->
+                message.replace("{name}", player == null ? "" : String.valueOf(player.getName())));
+        langService = new LangService(new CountingFormatter(formats, nameHook), bukkitAudiences);
+    }
+
+    @AfterEach
+    void tearDown() {
+        MockBukkit.unload();
+    }
+
+    @Test
+    void broadcast_formatsPlayerIndependentPartsOnce() {
+        langService.broadcast(List.of(alice, bob), new LangMessage("Hello everyone", null, null, "Welcome", null));
+
+        assertEquals(2, formats.get());
+        RecordingAudience aliceAudience = audiences.get(alice);
+        RecordingAudience bobAudience = audiences.get(bob);
+        assertEquals(List.of(Component.text("Hello everyone")), aliceAudience.messages);
+        assertSame(aliceAudience.messages.get(0), bobAudience.messages.get(0));
+        assertEquals(List.of(Component.text("Welcome")), aliceAudience.actionBars);
+        assertSame(aliceAudience.actionBars.get(0), bobAudience.actionBars.get(0));
+    }
+
+    @Test
+    void broadcast_formatsPlayerDependentPartsPerReceiver() {
+        langService.broadcast(List.of(alice, bob), new LangMessage("Hello {name}", null, null, null, null));
+
+        assertEquals(2, formats.get());
+        assertEquals(List.of(Component.text("Hello Alice")), audiences.get(alice).messages);
+        assertEquals(List.of(Component.text("Hello Bob")), audiences.get(bob).messages);
+    }
+
+    @Test
+    void broadcast_matchesSend() {
+        LangMessage message = new LangMessage("{greeting}, {name}", null, null, "{greeting}", null);
+        Map<String, Object> placeholders = Collections.singletonMap("{greeting}", "Hi");
+
+        langService.broadcast(List.of(alice), message, placeholders);
+        langService.send(bob, message, placeholders);
+
+        assertEquals(List.of(Component.text("Hi, Alice")), audiences.get(alice).messages);
+        assertEquals(List.of(Component.text("Hi, Bob")), audiences.get(bob).messages);
+        assertEquals(audiences.get(bob).actionBars, audiences.get(alice).actionBars);
+    }
+
+    private static final class RecordingAudience implements Audience {
+        private final List<Component> messages = new ArrayList<>();
+        private final List<Component> actionBars = new ArrayList<>();
+
+        @SuppressWarnings("deprecation") // every sendMessage overload ends up here
+        @Override
+        public void sendMessage(@NotNull Identity source, @NotNull Component message, @NotNull MessageType type) {
+            messages.add(message);
+        }
+
+        @Override
+        public void sendActionBar(@NotNull Component message) {
+            actionBars.add(message);
+        }
+    }
+
+    private static final class CountingFormatter extends AbstractMessageFormatter {
+        private final AtomicInteger formats;
+
+        CountingFormatter(AtomicInteger formats, FormattingHook... hooks) {
+            super(new LinkedHashSet<>(List.of(hooks)));
+            this.formats = formats;
+        }
+
+        @Override
+        public @NotNull Component format(@NotNull String message, @Nullable OfflinePlayer player) {
+            formats.incrementAndGet();
+            return Component.text(preFormat(message, player));
+        }
+
+        @Override
+        public @NotNull MessageFormatter withExtraHooks(@NotNull FormattingHook... hooks) {
+            Set<FormattingHook> combined = new LinkedHashSet<>(this.hooks);
+            combined.addAll(List.of(hooks));
+            return new CountingFormatter(formats, combined.toArray(new FormattingHook[0]));
+        }
+    }
+}
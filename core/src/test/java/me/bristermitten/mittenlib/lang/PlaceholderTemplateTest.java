@@ -0,0 +1,76 @@
+package me.bristermitten.mittenlib.lang;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlaceholderTemplateTest {
+
+    @Test
+    void fill_replacesEveryOccurrence() {
+        Map<String, Object> placeholders = new LinkedHashMap<>();
+        placeholders.put("{player}", "Knight");
+        placeholders.put("{amount}", 5);
+
+        PlaceholderTemplate template = PlaceholderTemplate.compile("{player} paid {amount}, thanks {player}!", placeholders.keySet());
+        assertEquals("Knight paid 5, thanks Knight!", template.fill(placeholders));
+    }
+
+    @Test
+    void fill_matchesKeysInOrder() {
+        Map<String, Object> placeholders = new LinkedHashMap<>();
+        placeholders.put("{a}", "1");
+        placeholders.put("{a}b", "2");
+
+        // like String#replace, the first key wins when keys overlap
+        PlaceholderTemplate template = PlaceholderTemplate.compile("{a}b", placeholders.keySet());
+        assertEquals("1b", template.fill(placeholders));
+    }
+
+    @Test
+    void fill_doesNotRescanValues() {
+        Map<String, Object> placeholders = new LinkedHashMap<>();
+        placeholders.put("{name}", "{world}");
+        placeholders.put("{world}", "Earth");
+
+        PlaceholderTemplate template = PlaceholderTemplate.compile("{name} on {world}", placeholders.keySet());
+        assertEquals("{world} on Earth", template.fill(placeholders));
+    }
+
+    @Test
+    void fill_withoutPlaceholders_returnsText() {
+        String text = "hello world";
+        PlaceholderTemplate template = PlaceholderTemplate.compile(text, Collections.emptySet());
+        assertSame(text, template.fill(Collections.emptyMap()));
+    }
+
+    @Test
+    void reuseOrCompile_onlyReusesForSameKeys() {
+        Map<String, Object> placeholders = new LinkedHashMap<>();
+        placeholders.put("{a}", "1");
+        PlaceholderTemplate template = PlaceholderTemplate.compile("{a}{b}", placeholders.keySet());
+
+        assertSame(template, PlaceholderTemplate.reuseOrCompile(template, "{a}{b}", Collections.singletonMap("{a}", "2")));
+
+        placeholders.put("{b}", "3");
+        PlaceholderTemplate recompiled = PlaceholderTemplate.reuseOrCompile(template, "{a}{b}", placeholders);
+        assertNotSame(template, recompiled);
+        assertEquals("13", recompiled.fill(placeholders));
+    }
+
+    @Test
+    void langMessage_appliesPlaceholdersToEveryPart() {
+        LangMessage message = new LangMessage("hi {p}", "title {p}", null, "bar {p}", null);
+        Map<String, Object> placeholders = Collections.singletonMap("{p}", "Steve");
+
+        assertEquals("hi Steve", message.getMessage(placeholders));
+        assertEquals("title Steve", message.getTitle(placeholders));
+        assertNull(message.getSubtitle(placeholders));
+        assertEquals("bar Steve", message.getActionBar(placeholders));
+        assertEquals("hi Alex", message.getMessage(Collections.singletonMap("{p}", "Alex")));
+    }
+}
@@ -0,0 +1,83 @@
+package me.bristermitten.mittenlib.lang.format;
+
+import me.bristermitten.mittenlib.lang.format.hook.FormattingHook;
+import me.bristermitten.mittenlib.lang.format.hook.SimpleFormattingHook;
+import me.bristermitten.mittenlib.lang.format.hook.StringReplacingHook;
+import net.kyori.adventure.text.Component;
+import org.bukkit.OfflinePlayer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AbstractMessageFormatterTest {
+
+    @Test
+    void preFormatTracked_playerIndependentHooks() {
+        TestFormatter formatter = new TestFormatter(new StringReplacingHook("{a}", "b"));
+        AbstractMessageFormatter.PreFormatResult result = formatter.preFormatTracked("{a}", null);
+        assertEquals("b", result.getMessage());
+        assertFalse(result.isPlayerDependent());
+    }
+
+    @Test
+    void preFormatTracked_playerDependentHookChangedMessage() {
+        TestFormatter formatter = new TestFormatter(new SimpleFormattingHook((message, player) -> message.replace("%player%", "Steve")));
+        AbstractMessageFormatter.PreFormatResult result = formatter.preFormatTracked("hi %player%", null);
+        assertEquals("hi Steve", result.getMessage());
+        assertTrue(result.isPlayerDependent());
+    }
+
+    @Test
+    void preFormatTracked_playerDependentHookLeftMessageUnchanged() {
+        TestFormatter formatter = new TestFormatter(new SimpleFormattingHook((message, player) -> message.replace("%player%", "Steve")));
+        AbstractMessageFormatter.PreFormatResult result = formatter.preFormatTracked("hello", null);
+        assertEquals("hello", result.getMessage());
+        assertFalse(result.isPlayerDependent());
+    }
+
+    @Test
+    void isPlayerDependent_onlyWithPlayerDependentHooks() {
+        assertFalse(new TestFormatter(new StringReplacingHook("{a}", "b")).isPlayerDependent("{a}"));
+        assertTrue(new TestFormatter(new SimpleFormattingHook((message, player) -> message)).isPlayerDependent("{a}"));
+    }
+
+    @Test
+    void isPlayerDependent_skipsUntriggeredHooks() {
+        FormattingHook placeholderHook = new SimpleFormattingHook((message, player) -> message.replace("%player%", "Steve")) {
+            @Override
+            public String getTriggerCharacters() {
+                return "%";
+            }
+        };
+        TestFormatter formatter = new TestFormatter(new StringReplacingHook("{player}", "%player%"), placeholderHook);
+
+        assertFalse(formatter.isPlayerDependent("hello"));
+        assertTrue(formatter.isPlayerDependent("hello %player%"));
+        // earlier hooks may introduce trigger characters
+        assertTrue(formatter.isPlayerDependent("hello {player}"));
+    }
+
+    private static class TestFormatter extends AbstractMessageFormatter {
+        TestFormatter(FormattingHook... hooks) {
+            super(new LinkedHashSet<>(List.of(hooks)));
+        }
+
+        @Override
+        public @NotNull Component format(@NotNull String message, @Nullable OfflinePlayer player) {
+            return Component.text(preFormat(message, player));
+        }
+
+        @Override
+        public @NotNull MessageFormatter withExtraHooks(@NotNull FormattingHook... hooks) {
+            Set<FormattingHook> combined = new LinkedHashSet<>(this.hooks);
+            combined.addAll(List.of(hooks));
+            return new TestFormatter(combined.toArray(new FormattingHook[0]));
+        }
+    }
+}
@@ -3,6 +3,7 @@ package me.bristermitten.mittenlib.lang.format.hook;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class StringReplacingHookTest {
@@ -25,4 +26,16 @@ class StringReplacingHookTest {
         var result = hook.format(message, null);
         assertEquals("Hello Test test2 null", result);
     }
+
+    @Test
+    void mayChange() {
+        var hook = new StringReplacingHook(
+                "{name}", "Test",
+                "%balance%", 5
+        );
+
+        assertTrue(hook.mayChange("Hello {name}"));
+        assertTrue(hook.mayChange("100%"));
+        assertFalse(hook.mayChange("Hello world"));
+    }
 }
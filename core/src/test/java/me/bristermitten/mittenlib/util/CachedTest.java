@@ -0,0 +1,71 @@
+package me.bristermitten.mittenlib.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CachedTest {
+
+    @Test
+    void concurrentGetsComputeOnce() throws Exception {
+        AtomicInteger computations = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        Cached<Integer> cached = new Cached<>(() -> {
+            sleep(50);
+            return computations.incrementAndGet();
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return cached.get();
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> result : results) {
+                assertEquals(1, result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, computations.get());
+    }
+
+    @Test
+    void invalidatingWhileComputingDoesNotCacheTheStaleValue() {
+        AtomicInteger computations = new AtomicInteger();
+        AtomicReference<Cached<Integer>> self = new AtomicReference<>();
+        Cached<Integer> cached = new Cached<>(() -> {
+            int value = computations.incrementAndGet();
+            if (value == 1) {
+                self.get().invalidate();
+            }
+            return value;
+        });
+        self.set(cached);
+
+        assertEquals(1, cached.get());
+        assertEquals(2, cached.get());
+        assertEquals(2, cached.get());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package me.bristermitten.mittenlib.watcher;
 
 import com.google.common.jimfs.Configuration;
 import com.google.common.jimfs.Jimfs;
+import com.google.common.jimfs.WatchServiceConfiguration;
 import me.bristermitten.mittenlib.TestMittenLibConsumer;
 import org.junit.jupiter.api.Test;
 
@@ -9,9 +10,14 @@ import java.io.IOException;
 import java.nio.file.FileSystem;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 
 class FileWatcherServiceTest {
@@ -62,4 +68,38 @@ class FileWatcherServiceTest {
         }
     }
 
+    @Test
+    void testDebouncedWatcherCoalescesBursts() throws IOException, ExecutionException, InterruptedException, TimeoutException {
+        Configuration configuration = Configuration.forCurrentPlatform().toBuilder()
+                .setWatchServiceConfiguration(WatchServiceConfiguration.polling(10, TimeUnit.MILLISECONDS))
+                .build();
+        try (FileSystem fs = Jimfs.newFileSystem(configuration)) {
+            Path testDir = fs.getPath("/MittenLib");
+            Files.createDirectories(testDir);
+            Path testFile = testDir.resolve("test.txt");
+            Path otherFile = testDir.resolve("other.txt");
+
+            var ws = fs.newWatchService();
+
+            FileWatcherService service = new FileWatcherService(() -> ws, new TestMittenLibConsumer());
+
+            AtomicInteger calls = new AtomicInteger();
+            CompletableFuture<Void> viewed = new CompletableFuture<>();
+            service.addWatcher(new FileWatcher(testFile, event -> {
+                        calls.incrementAndGet();
+                        viewed.complete(null);
+                    }, Duration.ofMillis(500)))
+                    .get();
+
+            for (int i = 0; i < 5; i++) {
+                Files.writeString(otherFile, "other" + i); // unwatched changes in the same directory mustn't hide ours
+                Files.writeString(testFile, "test" + i);
+                Thread.sleep(30);
+            }
+
+            viewed.get(5, TimeUnit.SECONDS);
+            Thread.sleep(600);
+            assertThat(calls).hasValue(1);
+        }
+    }
 }
@@ -19,4 +19,17 @@ public interface AbstractMiniMessageFactory {
      * @return a {@link MiniMessage} instance
      */
     @NotNull MiniMessage create(@Nullable OfflinePlayer player);
+
+    /**
+     * If {@link #create(OfflinePlayer)} may return differently configured instances for different players.
+     * The default implementation returns true, which is always safe.
+     * <p>
+     * If this returns false, components parsed by a returned instance may be cached and reused, so a given instance
+     * must always produce the same component for the same input (for example, its tag resolvers must not change).
+     *
+     * @return if the created {@link MiniMessage} may depend on the player
+     */
+    default boolean isPlayerDependent() {
+        return true;
+    }
 }
@@ -16,4 +16,12 @@ public class DefaultMiniMessageFactory implements AbstractMiniMessageFactory {
     public @NotNull MiniMessage create(@Nullable OfflinePlayer player) {
         return MiniMessage.miniMessage();
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isPlayerDependent() {
+        return false;
+    }
 }
@@ -1,8 +1,11 @@
 package me.bristermitten.mittenlib.lang.format;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import me.bristermitten.mittenlib.collections.Sets;
 import me.bristermitten.mittenlib.lang.format.hook.FormattingHook;
 import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
 import org.bukkit.OfflinePlayer;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -16,9 +19,24 @@ import java.util.Set;
 /**
  * An {@link AbstractMessageFormatter} that uses MiniMessage to create a {@link Component}
  * from a String
+ * <p>
+ * As {@link Component}s are immutable, parsed components are cached by the formatted String and the {@link MiniMessage}
+ * instance that parsed them, so static messages are only parsed once rather than once per recipient.
+ * Messages that were changed by a {@link FormattingHook#isPlayerDependent() player dependent} hook
+ * (such as PlaceholderAPI) are still parsed every time, as they are unlikely to be seen again.
+ * Nothing is cached if the {@link AbstractMiniMessageFactory#isPlayerDependent() factory is player dependent},
+ * as it may return a new instance per player, or one whose tag resolvers depend on the player.
  */
 public class MiniMessageFormatter extends AbstractMessageFormatter {
+    /**
+     * The maximum number of parsed components to cache, evicting the least recently used first.
+     */
+    private static final int MAX_CACHED_COMPONENTS = 1024;
+
     private final AbstractMiniMessageFactory miniMessageFactory;
+    private final Cache<CacheKey, Component> componentCache = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_COMPONENTS)
+            .build();
 
     @Inject
     MiniMessageFormatter(Set<FormattingHook> hooks, AbstractMiniMessageFactory miniMessageFactory) {
@@ -28,8 +46,25 @@ public class MiniMessageFormatter extends AbstractMessageFormatter {
 
     @Override
     public @NotNull Component format(@NotNull String message, @Nullable OfflinePlayer player) {
-        return miniMessageFactory.create(player)
-                .deserialize(preFormat(message, player));
+        final PreFormatResult preFormatted = preFormatTracked(message, player);
+        final MiniMessage miniMessage = miniMessageFactory.create(player);
+        if (preFormatted.isPlayerDependent() || miniMessageFactory.isPlayerDependent()) {
+            return miniMessage.deserialize(preFormatted.getMessage());
+        }
+
+        final CacheKey key = new CacheKey(miniMessage, preFormatted.getMessage());
+        final Component cached = componentCache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        final Component component = miniMessage.deserialize(preFormatted.getMessage());
+        componentCache.put(key, component);
+        return component;
+    }
+
+    @Override
+    public boolean isPlayerDependent(@NotNull String message) {
+        return miniMessageFactory.isPlayerDependent() || super.isPlayerDependent(message);
     }
 
     @Override
@@ -40,4 +75,30 @@ public class MiniMessageFormatter extends AbstractMessageFormatter {
         );
     }
 
+    /**
+     * Components are only reused for the same {@link MiniMessage} instance, as factories may create differently
+     * configured instances for each player.
+     */
+    private static final class CacheKey {
+        private final MiniMessage miniMessage;
+        private final String message;
+
+        private CacheKey(MiniMessage miniMessage, String message) {
+            this.miniMessage = miniMessage;
+            this.message = message;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof CacheKey)) return false;
+            CacheKey cacheKey = (CacheKey) o;
+            return miniMessage == cacheKey.miniMessage && message.equals(cacheKey.message);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(miniMessage) + message.hashCode();
+        }
+    }
 }
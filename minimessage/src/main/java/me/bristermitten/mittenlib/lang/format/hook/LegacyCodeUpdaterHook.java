@@ -6,16 +6,29 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Locale;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 
 /**
  * A {@link FormattingHook} that replaces legacy color codes with their MiniMessage equivalent.
  * This insures that formatting still works when other hooks might return a legacy code (for example from PlaceholderAPI)
+ * <p>
+ * Both {@code &} and {@code §} codes are translated, as are legacy hex colors ({@code §x§f§f§0§0§0§0}),
+ * in a single pass over the message, so {@link HexColorFixerHook} isn't needed alongside this hook.
  */
 public class LegacyCodeUpdaterHook implements FormattingHook {
-    private static final Pattern LEGACY_CODE_PATTERN = Pattern.compile("[&§][\\da-fk-or]");
+    /**
+     * The MiniMessage tag for each legacy code character, or null if the character isn't a code
+     */
+    private static final String[] TAGS = new String[128];
+
+    static {
+        for (char code : "0123456789abcdefklmnor".toCharArray()) {
+            ChatColor color = ChatColor.getByChar(code);
+            if (color != null) {
+                TAGS[code] = "<" + color.name().toLowerCase(Locale.ROOT) + ">";
+            }
+        }
+    }
 
     @Override
     public boolean shouldRegister() {
@@ -24,15 +37,46 @@ public class LegacyCodeUpdaterHook implements FormattingHook {
 
     @Override
     public @NotNull String format(@NotNull String message, @Nullable OfflinePlayer player) {
-        Matcher matcher = LEGACY_CODE_PATTERN.matcher(message);
-        StringBuffer builder = new StringBuffer();
-        while (matcher.find()) {
-            char codeChar = matcher.group(0).charAt(1);
-            ChatColor code = ChatColor.getByChar(codeChar);
-            String replacement = "<" + code.name().toLowerCase(Locale.ROOT) + ">";
-            matcher.appendReplacement(builder, replacement);
+        StringBuilder builder = null;
+        int copiedUpTo = 0;
+        for (int i = 0; i < message.length() - 1; i++) {
+            char c = message.charAt(i);
+            if (c != '&' && c != ChatColor.COLOR_CHAR) {
+                continue;
+            }
+            final boolean hex = LegacyColorCodes.isHexCode(message, i, true);
+            final char code = message.charAt(i + 1);
+            final String tag = code < TAGS.length ? TAGS[code] : null;
+            if (!hex && tag == null) {
+                continue;
+            }
+
+            if (builder == null) {
+                builder = new StringBuilder(message.length() + 16);
+            }
+            builder.append(message, copiedUpTo, i);
+            if (hex) {
+                LegacyColorCodes.appendHexTag(builder, message, i);
+                copiedUpTo = i + LegacyColorCodes.HEX_CODE_LENGTH;
+            } else {
+                builder.append(tag);
+                copiedUpTo = i + 2;
+            }
+            i = copiedUpTo - 1;
+        }
+        if (builder == null) {
+            return message;
         }
-        matcher.appendTail(builder);
-        return builder.toString();
+        return builder.append(message, copiedUpTo, message.length()).toString();
+    }
+
+    @Override
+    public boolean isPlayerDependent() {
+        return false;
+    }
+
+    @Override
+    public @NotNull String getTriggerCharacters() {
+        return "&" + ChatColor.COLOR_CHAR;
     }
 }
@@ -0,0 +1,34 @@
+package me.bristermitten.mittenlib.lang.format;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class MiniMessageFormatterTest {
+
+    @Test
+    void format_cachesComponentsForPlayerIndependentFactories() {
+        MiniMessageFormatter formatter = new MiniMessageFormatter(Collections.emptySet(), new DefaultMiniMessageFactory());
+
+        Component first = formatter.format("<red>hello", null);
+        assertSame(first, formatter.format("<red>hello", null));
+    }
+
+    @Test
+    void format_skipsCacheForPlayerDependentFactories() {
+        // a lambda factory is player dependent by default, even though this one isn't
+        AbstractMiniMessageFactory factory = player -> MiniMessage.miniMessage();
+        MiniMessageFormatter formatter = new MiniMessageFormatter(Collections.emptySet(), factory);
+
+        Component first = formatter.format("<red>hello", null);
+        Component second = formatter.format("<red>hello", null);
+        assertEquals(first, second);
+        assertNotSame(first, second);
+    }
+}
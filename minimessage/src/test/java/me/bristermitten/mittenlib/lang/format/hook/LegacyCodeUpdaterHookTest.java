@@ -3,6 +3,7 @@ package me.bristermitten.mittenlib.lang.format.hook;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 class LegacyCodeUpdaterHookTest {
 
@@ -13,4 +14,39 @@ class LegacyCodeUpdaterHookTest {
         assertEquals("<red>Test <green>Message", hook.format("§cTest §aMessage", null));
         assertEquals("", hook.format("", null));
     }
+
+    @Test
+    void format_mixedCodes() {
+        final String format = new LegacyCodeUpdaterHook()
+                .format("&chello §lworld", null);
+        assertEquals("<red>hello <bold>world", format);
+    }
+
+    @Test
+    void format_hexColors() {
+        final String format = new LegacyCodeUpdaterHook()
+                .format("hello §x§f§f§0§0§0§0world &x&0&0&f&f&0&0!", null);
+        assertEquals("hello <#ff0000>world <#00ff00>!", format);
+    }
+
+    @Test
+    void format_ampersandHexColor() {
+        // previously each code after &x was replaced on its own, giving "&x<green><aqua><red><light_purple><yellow><white>"
+        final String format = new LegacyCodeUpdaterHook()
+                .format("&x&a&b&c&d&e&fhello", null);
+        assertEquals("<#abcdef>hello", format);
+    }
+
+    @Test
+    void format_invalidCodes() {
+        final String format = new LegacyCodeUpdaterHook()
+                .format("&&c &z §x§f §", null);
+        assertEquals("&<red> &z §x<white> §", format);
+    }
+
+    @Test
+    void format_normalString() {
+        final String message = "hello world";
+        assertSame(message, new LegacyCodeUpdaterHook().format(message, null));
+    }
 }
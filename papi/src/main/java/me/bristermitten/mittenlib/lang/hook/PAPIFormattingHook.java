@@ -20,4 +20,9 @@ public class PAPIFormattingHook implements FormattingHook {
     public @NotNull String format(@NotNull String message, @Nullable OfflinePlayer player) {
         return PlaceholderAPI.setPlaceholders(player, message);
     }
+
+    @Override
+    public @NotNull String getTriggerCharacters() {
+        return "%";
+    }
 }